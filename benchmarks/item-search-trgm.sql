@@ -0,0 +1,45 @@
+-- Item search at 1M items: LIKE over CONCAT(description, name) vs ILIKE backed by pg_trgm GIN indexes.
+-- Run against an empty scratch database: psql -d shareit_bench -f benchmarks/item-search-trgm.sql
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DROP TABLE IF EXISTS bench_items;
+CREATE TABLE bench_items (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    available BOOLEAN NOT NULL
+);
+
+INSERT INTO bench_items (name, description, available)
+SELECT (ARRAY['Дрель', 'Велосипед', 'Фотоаппарат', 'Палатка', 'Шуруповерт', 'Мультиварка'])[1 + n % 6] || ' ' || md5(n::text),
+       'Описание ' || md5((n * 7)::text) || ' ' || (ARRAY['аккумулятор', 'сумка', 'чехол', 'насадки'])[1 + n % 4],
+       n % 10 <> 0
+FROM generate_series(1, 1000000) AS n;
+
+INSERT INTO bench_items (name, description, available)
+VALUES ('Отвертка-мультитул', 'У отвертки разные виды насадок', true);
+
+ANALYZE bench_items;
+
+\timing on
+
+-- Baseline: the JPQL used by ItemRepository.getAllByTemplate, sequential scan.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_items AS i
+WHERE i.available = true AND LOWER(CONCAT(i.description, i.name)) LIKE LOWER(CONCAT('%', 'мультитул', '%'))
+LIMIT 5;
+
+CREATE INDEX bench_items_name_trgm_idx ON bench_items USING GIN (name gin_trgm_ops);
+CREATE INDEX bench_items_description_trgm_idx ON bench_items USING GIN (description gin_trgm_ops);
+ANALYZE bench_items;
+
+-- Trigram mode: the query used by ItemRepository.searchAvailableByTrigram, bitmap index scans.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_items AS i
+WHERE i.available = true
+  AND (i.name ILIKE CONCAT('%', 'мультитул', '%') OR i.description ILIKE CONCAT('%', 'мультитул', '%'))
+ORDER BY similarity(i.name, 'мультитул') DESC, i.id
+LIMIT 5 OFFSET 0;
+
+DROP TABLE bench_items;
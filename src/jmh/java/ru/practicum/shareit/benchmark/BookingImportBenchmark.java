@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists bookings through JPA in one transaction. The score is the time per booking, so an import of
+ * 1M bookings takes roughly score seconds; compare jdbcBatchSize=1 with the configured batch size of 50.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingImportBenchmark {
+    private static final int IMPORT_SIZE = 10_000;
+    private static final int FLUSH_SIZE = 1_000;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp(ShareItState shareItState) {
+        entityManagerFactory = shareItState.getBean(EntityManagerFactory.class);
+        transactionTemplate = shareItState.getBean(TransactionTemplate.class);
+        jdbcTemplate = shareItState.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeImported() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE id > ?", ShareItState.BOOKINGS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IMPORT_SIZE)
+    public void importBookings() {
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            em.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            LocalDateTime start = LocalDateTime.now().plusYears(1);
+            for (int i = 0; i < IMPORT_SIZE; i++) {
+                int itemId = random.nextInt(ShareItState.ITEMS) + 1;
+                int bookerId = ShareItState.OWNERS + random.nextInt(ShareItState.USERS - ShareItState.OWNERS) + 1;
+                em.persist(Booking.builder()
+                        .start(start.plusMinutes(i))
+                        .end(start.plusMinutes(i + 60))
+                        .item(em.getReference(Item.class, itemId))
+                        .booker(em.getReference(User.class, bookerId))
+                        .ownerId((itemId - 1) % ShareItState.OWNERS + 1)
+                        .status(BookingStatus.WAITING)
+                        .build());
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+        });
+    }
+}
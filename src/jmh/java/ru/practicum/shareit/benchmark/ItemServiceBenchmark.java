@@ -0,0 +1,52 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemServiceBenchmark {
+    @Param({"drill", "screw", "model 4242"})
+    private String text;
+
+    private ItemService itemService;
+
+    @Setup
+    public void setUp(ShareItState state) {
+        itemService = state.getBean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> findAllItems() {
+        return itemService.findAllItems(randomOwner(), 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItem() {
+        return itemService.searchItem(randomOwner(), text, 0, 20);
+    }
+
+    private static int randomOwner() {
+        return ThreadLocalRandom.current().nextInt(ShareItState.OWNERS) + 1;
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.custom.CustomPageRequest;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static datas.ObjectMaker.*;
+
+/**
+ * Mapping and paging costs without a database, on objects shaped like a typical list page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+    private ItemRequest request;
+    private int from;
+
+    @Setup
+    public void setUp() {
+        User owner = makeUser(1, "owner", "owner@bench.ru");
+        User booker = makeUser(2, "booker", "booker@bench.ru");
+        LocalDateTime now = LocalDateTime.now();
+        item = makeItem(1, "drill", "model 1 in good condition", true, owner, new ArrayList<>(), null);
+        lastBooking = makeBooking(1, now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED, item, booker);
+        nextBooking = makeBooking(2, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED, item, booker);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(makeItem(i + 1, "drill " + i, "model " + i, true, owner, new ArrayList<>(), null));
+        }
+        request = makeItemRequest(1, "need a drill", now, booker, items);
+        from = 40;
+    }
+
+    @Benchmark
+    public ItemResponseDto itemToItemResponseDto() {
+        return ItemMapper.INSTANCE.toItemResponseDto(item, lastBooking, nextBooking);
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingToBookingResponseDto() {
+        return BookingMapper.INSTANCE.toBookingResponseDto(lastBooking);
+    }
+
+    @Benchmark
+    public Booking bookingCreateDtoToBooking() {
+        return BookingMapper.INSTANCE.toBooking(makeBookingCreateDto(nextBooking.getStart(), nextBooking.getEnd(),
+                item.getId(), 2), item, nextBooking.getBooker());
+    }
+
+    @Benchmark
+    public ItemRequestResponseDto requestToRequestDto() {
+        return RequestMapper.INSTANCE.toRequestDto(request);
+    }
+
+    @Benchmark
+    public Pageable customPageRequest() {
+        return new CustomPageRequest(from, 20);
+    }
+}
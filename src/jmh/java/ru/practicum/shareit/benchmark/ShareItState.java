@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+
+/**
+ * Application context on an embedded H2 database seeded once per trial: 100k users, 10k requests,
+ * 50k items owned by the first 5k users and 1M bookings spread over those items.
+ */
+@State(Scope.Benchmark)
+public class ShareItState {
+    public static final int USERS = 100_000;
+    public static final int OWNERS = 5_000;
+    public static final int REQUESTS = 10_000;
+    public static final int ITEMS = 50_000;
+    public static final int BOOKINGS = 1_000_000;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:shareit-bench;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.web-application-type=none",
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(BookingService.class).rebuildOwnerBookingView();
+        ItemSearchEngine searchEngine = context.getBean(ItemSearchEngine.class);
+        if (searchEngine instanceof InMemoryItemSearchEngine) {
+            ((InMemoryItemSearchEngine) searchEngine).rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("INSERT INTO users (id, name, email)" +
+                " SELECT X, 'user' || X, 'user' || X || '@bench.ru' FROM SYSTEM_RANGE(1, " + USERS + ")");
+        jdbcTemplate.execute("INSERT INTO requests (id, description, created, requester_id)" +
+                " SELECT X, 'request ' || X, DATEADD('MINUTE', -X, CURRENT_TIMESTAMP), MOD(X, " + USERS + ") + 1" +
+                " FROM SYSTEM_RANGE(1, " + REQUESTS + ")");
+        jdbcTemplate.execute("INSERT INTO items (id, name, description, available, owner_id, request_id)" +
+                " SELECT X, CASE MOD(X, 8) WHEN 0 THEN 'drill' WHEN 1 THEN 'bike' WHEN 2 THEN 'kettle'" +
+                " WHEN 3 THEN 'camera' WHEN 4 THEN 'screwdriver' WHEN 5 THEN 'tent' WHEN 6 THEN 'ladder'" +
+                " ELSE 'projector' END || ' ' || X, 'model ' || X || ' in good condition', MOD(X, 10) <> 0," +
+                " MOD(X - 1, " + OWNERS + ") + 1," +
+                " CASE WHEN MOD(X, 5) = 0 THEN MOD(X, " + REQUESTS + ") + 1 END" +
+                " FROM SYSTEM_RANGE(1, " + ITEMS + ")");
+        jdbcTemplate.execute("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, owner_id, status)" +
+                " SELECT X, DATEADD('MINUTE', X - " + BOOKINGS / 2 + ", CURRENT_TIMESTAMP)," +
+                " DATEADD('MINUTE', X - " + BOOKINGS / 2 + " + 120, CURRENT_TIMESTAMP)," +
+                " MOD(X - 1, " + ITEMS + ") + 1," +
+                " " + OWNERS + " + MOD(X * 7, " + (USERS - OWNERS) + ") + 1," +
+                " MOD(X - 1, " + OWNERS + ") + 1," +
+                " CASE MOD(X, 4) WHEN 0 THEN 'APPROVED' WHEN 1 THEN 'WAITING' WHEN 2 THEN 'REJECTED'" +
+                " ELSE 'CANCELED' END" +
+                " FROM SYSTEM_RANGE(1, " + BOOKINGS + ")");
+        restartSequence(jdbcTemplate, "users_seq", USERS);
+        restartSequence(jdbcTemplate, "requests_seq", REQUESTS);
+        restartSequence(jdbcTemplate, "items_seq", ITEMS);
+        restartSequence(jdbcTemplate, "bookings_seq", BOOKINGS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static void restartSequence(JdbcTemplate jdbcTemplate, String sequence, int seeded) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (seeded + 1));
+    }
+}
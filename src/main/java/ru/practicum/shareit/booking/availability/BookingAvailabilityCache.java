@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.custom.LruMap;
+import ru.practicum.shareit.custom.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Approved periods per item, loaded from the database on first use and kept in LRU order.
+ * Changes are applied only after the surrounding transaction commits.
+ */
+@Slf4j
+@Component
+public class BookingAvailabilityCache {
+    private final BookingRepository bookingRepository;
+    private final Map<Integer, ItemSchedule> schedules;
+
+    public BookingAvailabilityCache(BookingRepository bookingRepository,
+                                    @Value("${shareit.booking.availability.max-items:10000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.schedules = Collections.synchronizedMap(new LruMap<>(maxItems));
+    }
+
+    public boolean hasOverlap(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        return schedule(itemId).overlaps(start, end);
+    }
+
+    public void reserve(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        TransactionCallbacks.afterCommit(() -> {
+            ItemSchedule schedule = schedules.get(itemId);
+            if (schedule != null) {
+                schedule.add(start, end);
+            }
+        });
+    }
+
+    public void release(Integer itemId) {
+        TransactionCallbacks.afterCommit(() -> schedules.remove(itemId));
+    }
+
+    private ItemSchedule schedule(Integer itemId) {
+        ItemSchedule schedule = schedules.get(itemId);
+        if (schedule != null) {
+            return schedule;
+        }
+        ItemSchedule loaded = new ItemSchedule();
+        bookingRepository.findAllByItemIdAndStatus(itemId, BookingStatus.APPROVED)
+                .forEach(period -> loaded.add(period.getStart(), period.getEnd()));
+        log.debug("Availability of item {} loaded: {} periods", itemId, loaded.size());
+        ItemSchedule existing = schedules.putIfAbsent(itemId, loaded);
+        return existing == null ? loaded : existing;
+    }
+}
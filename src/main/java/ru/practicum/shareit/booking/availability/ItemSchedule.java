@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Busy periods of one item as disjoint half-open intervals keyed by start. Overlapping and adjacent
+ * periods are merged on insert, so the interval starting last before a query's end is the only one
+ * that can overlap it.
+ */
+class ItemSchedule {
+    private final NavigableMap<LocalDateTime, LocalDateTime> periods = new TreeMap<>();
+
+    synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> candidate = periods.lowerEntry(end);
+        return candidate != null && candidate.getValue().isAfter(start);
+    }
+
+    synchronized void add(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> previous = periods.floorEntry(start);
+        if (previous != null && !previous.getValue().isBefore(start)) {
+            start = previous.getKey();
+            end = max(end, previous.getValue());
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> next = periods.ceilingEntry(start);
+        while (next != null && !next.getKey().isAfter(end)) {
+            end = max(end, next.getValue());
+            periods.remove(next.getKey());
+            next = periods.higherEntry(next.getKey());
+        }
+        periods.put(start, end);
+    }
+
+    synchronized int size() {
+        return periods.size();
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
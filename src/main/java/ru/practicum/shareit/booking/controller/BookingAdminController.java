@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.Map;
+
+/**
+ * Maintenance endpoints. They are only mapped when shareit.admin.enabled is set, which is meant for
+ * instances that are not reachable by regular clients.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/admin/bookings")
+@ConditionalOnProperty(name = "shareit.admin.enabled", havingValue = "true")
+public class BookingAdminController {
+    private final BookingService bookingService;
+
+    @PostMapping("/owner-view/rebuild")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, Integer> rebuildOwnerBookingView() {
+        log.info("Получен POST запрос к эндпоинту: '/admin/bookings/owner-view/rebuild'");
+        return Map.of("rows", bookingService.rebuildOwnerBookingView());
+    }
+}
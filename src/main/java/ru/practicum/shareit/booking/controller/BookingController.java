@@ -1,19 +1,33 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.constants.Constants;
+import ru.practicum.shareit.custom.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.PositiveOrZero;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
 
 @Slf4j
@@ -23,6 +37,7 @@ import java.util.List;
 @Validated
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -42,6 +57,19 @@ public class BookingController {
         return bookingService.approveBooking(bookingId, approved, userId);
     }
 
+    @PatchMapping("/approve")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BookingApprovalResultDto> approveBookings(@RequestBody
+                                                          @NotEmpty
+                                                          @Size(max = Constants.BATCH_MAX_SIZE)
+                                                          List<@NotNull Integer> bookingIds,
+                                                          @RequestParam("approved") Boolean approved,
+                                                          @RequestHeader(Constants.SHARER_USER_ID) Integer userId) {
+        log.info("Получен PATCH запрос к эндпоинту: '/bookings/approve'" +
+                " Строка параметра запроса для bookingIds: {} к approved: {}", bookingIds, approved);
+        return bookingService.approveBookings(bookingIds, approved, userId);
+    }
+
     @GetMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
     public BookingResponseDto getBooking(@PathVariable("bookingId") Integer bookingId,
@@ -58,10 +86,16 @@ public class BookingController {
                                                          @PositiveOrZero
                                                          @RequestParam(name = "from", defaultValue = Constants.FROM_DEFAULT) Integer from,
                                                          @Positive
-                                                         @RequestParam(name = "size", defaultValue = Constants.SIZE_DEFAULT) Integer size) {
+                                                         @RequestParam(name = "size", defaultValue = Constants.SIZE_DEFAULT) Integer size,
+                                                         @RequestParam(name = "after", required = false) String after,
+                                                         HttpServletResponse response) {
         log.info("Получен GET запрос к эндпоинту: '/bookings" +
                 " Строка параметра запроса для state: {} и userId: {}", state, userId);
-        return bookingService.getBookingRequestsByUserId(userId, state, from, size);
+        List<BookingResponseDto> bookings = after == null
+                ? bookingService.getBookingRequestsByUserId(userId, state, from, size)
+                : bookingService.getBookingRequestsByUserId(userId, state, PageCursor.decode(after), size);
+        setNextCursor(response, bookings, size);
+        return bookings;
     }
 
     @GetMapping("/owner")
@@ -71,9 +105,67 @@ public class BookingController {
                                                   @PositiveOrZero
                                                   @RequestParam(name = "from", defaultValue = Constants.FROM_DEFAULT) Integer from,
                                                   @Positive
-                                                  @RequestParam(name = "size", defaultValue = Constants.SIZE_DEFAULT) Integer size) {
+                                                  @RequestParam(name = "size", defaultValue = Constants.SIZE_DEFAULT) Integer size,
+                                                  @RequestParam(name = "after", required = false) String after,
+                                                  HttpServletResponse response) {
         log.info("Получен GET запрос к эндпоинту: '/bookings" +
                 " Строка параметра запроса для state: {} и userId: {}", state, userId);
-        return bookingService.getBookingsByOwnerId(userId, state, from, size);
+        List<BookingResponseDto> bookings = after == null
+                ? bookingService.getBookingsByOwnerId(userId, state, from, size)
+                : bookingService.getBookingsByOwnerId(userId, state, PageCursor.decode(after), size);
+        setNextCursor(response, bookings, size);
+        return bookings;
+    }
+
+    @GetMapping("/owner/export")
+    public void exportMyBookings(@RequestParam(value = "state", defaultValue = "ALL") String state,
+                                 @RequestHeader(Constants.SHARER_USER_ID) Integer userId,
+                                 HttpServletResponse response) throws IOException {
+        log.info("Получен GET запрос к эндпоинту: '/bookings/owner/export'" +
+                " Строка параметра запроса для state: {} и userId: {}", state, userId);
+        ObjectWriter writer = objectMapper.writerFor(BookingResponseDto.class);
+        OutputStream out = response.getOutputStream();
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try {
+            bookingService.exportBookingsByOwnerId(userId, state, booking -> {
+                try {
+                    out.write(writer.writeValueAsBytes(booking));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Nothing has reached the client yet, so drop the NDJSON header and let the error handler answer
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+        out.flush();
+    }
+
+    @GetMapping("/owner/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<BookingState, Long> getMyBookingStats(@RequestHeader(Constants.SHARER_USER_ID) Integer userId,
+                                                     @RequestParam(name = "fast", defaultValue = "false") boolean fast) {
+        log.info("Получен GET запрос к эндпоинту: '/bookings/owner/stats' userId: {}, fast: {}", userId, fast);
+        return bookingService.getBookingStatsByOwnerId(userId, fast);
+    }
+
+    @GetMapping("/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<BookingState, Long> getMyBookingRequestStats(@RequestHeader(Constants.SHARER_USER_ID) Integer userId,
+                                                            @RequestParam(name = "fast", defaultValue = "false")
+                                                            boolean fast) {
+        log.info("Получен GET запрос к эндпоинту: '/bookings/stats' userId: {}, fast: {}", userId, fast);
+        return bookingService.getBookingStatsByBookerId(userId, fast);
+    }
+
+    private void setNextCursor(HttpServletResponse response, List<BookingResponseDto> bookings, int size) {
+        if (bookings.size() == size) {
+            BookingResponseDto last = bookings.get(bookings.size() - 1);
+            response.setHeader(Constants.NEXT_CURSOR, new PageCursor(last.getStart(), last.getId()).encode());
+        }
     }
 }
\ No newline at end of file
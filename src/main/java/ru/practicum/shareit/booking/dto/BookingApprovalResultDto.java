@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class BookingApprovalResultDto {
+    private Integer id;
+    private Outcome outcome;
+    private BookingStatus status;
+    private String error;
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        UNCHANGED,
+        UNAVAILABLE
+    }
+}
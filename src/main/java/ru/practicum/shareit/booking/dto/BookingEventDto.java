@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingEventType;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+public class BookingEventDto {
+    private Long id;
+    private BookingEventType type;
+    private Integer bookingId;
+    private Integer bookingVersion;
+    private Integer itemId;
+    private Integer ownerId;
+    private Integer bookerId;
+    private BookingStatus status;
+    private BookingStatus previousStatus;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private LocalDateTime created;
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.custom.TransactionCallbacks;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by item id, so writes to one item are serialized while other items
+ * only contend when they fall on the same stripe. A lock is held until the current transaction
+ * completes, which keeps the next holder from reading state that is not committed yet.
+ */
+@Component
+public class ItemLocks {
+    private final ReentrantLock[] stripes;
+
+    public ItemLocks(@Value("${shareit.booking.lock-stripes:256}") int stripes) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void lockUntilCompletion(Integer itemId) {
+        requireTransaction(itemId);
+        lock(stripeIndex(itemId));
+    }
+
+    /**
+     * Locks the stripes of all items in stripe order, so two callers locking overlapping sets
+     * cannot wait on each other.
+     */
+    public void lockAllUntilCompletion(Collection<Integer> itemIds) {
+        requireTransaction(itemIds);
+        itemIds.stream()
+                .map(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .forEach(this::lock);
+    }
+
+    ReentrantLock stripe(Integer itemId) {
+        return stripes[stripeIndex(itemId)];
+    }
+
+    private void lock(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        TransactionCallbacks.afterCompletion(lock::unlock);
+    }
+
+    private int stripeIndex(Integer itemId) {
+        return Math.floorMod(itemId, stripes.length);
+    }
+
+    private static void requireTransaction(Object items) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Item " + items + " can be locked only inside a transaction");
+        }
+    }
+}
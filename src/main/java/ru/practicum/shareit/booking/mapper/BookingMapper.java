@@ -4,11 +4,24 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.model.BookingEventType;
+import ru.practicum.shareit.booking.model.BookingStats;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.model.OwnerBooking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
 @Mapper
 public interface BookingMapper {
     BookingMapper INSTANCE = Mappers.getMapper(BookingMapper.class);
@@ -17,9 +30,96 @@ public interface BookingMapper {
     @Mapping(target = "id", source = "bookingCreateDto.id")
     @Mapping(source = "user", target = "booker")
     @Mapping(target = "status", constant = "WAITING")
+    @Mapping(target = "ownerId", source = "item.owner.id")
+    @Mapping(target = "version", ignore = true)
     Booking toBooking(BookingCreateDto bookingCreateDto, Item item, User user);
 
     @Mapping(target = "item", source = "booking.item")
     @Mapping(target = "booker", source = "booking.booker")
     BookingResponseDto toBookingResponseDto(Booking booking);
+
+    @Mapping(target = "start", source = "startDate")
+    @Mapping(target = "end", source = "endDate")
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.requestId", ignore = true)
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    BookingResponseDto toBookingResponseDto(BookingView bookingView);
+
+    @Mapping(target = "id", source = "bookingId")
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.requestId", ignore = true)
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    BookingResponseDto toBookingResponseDto(OwnerBooking ownerBooking);
+
+    BookingEventDto toBookingEventDto(BookingEvent event);
+
+    default OwnerBooking toOwnerBooking(Booking booking) {
+        return OwnerBooking.builder()
+                .bookingId(booking.getId())
+                .ownerId(booking.getOwnerId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .status(booking.getStatus())
+                .itemId(booking.getItem().getId())
+                .itemName(booking.getItem().getName())
+                .itemDescription(booking.getItem().getDescription())
+                .itemAvailable(booking.getItem().getAvailable())
+                .bookerId(booking.getBooker().getId())
+                .bookerName(booking.getBooker().getName())
+                .bookerEmail(booking.getBooker().getEmail())
+                .build();
+    }
+
+    default BookingEvent toBookingEvent(Booking booking, BookingStatus previousStatus) {
+        return BookingEvent.builder()
+                .type(previousStatus == null ? BookingEventType.CREATED : BookingEventType.STATUS_CHANGED)
+                .bookingId(booking.getId())
+                .bookingVersion(booking.getVersion())
+                .itemId(booking.getItem().getId())
+                .ownerId(booking.getOwnerId())
+                .bookerId(booking.getBooker().getId())
+                .status(booking.getStatus())
+                .previousStatus(previousStatus)
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .created(LocalDateTime.now())
+                .build();
+    }
+
+    default BookingEvent toBookingEvent(BookingApproval booking, Integer ownerId, BookingStatus status) {
+        return BookingEvent.builder()
+                .type(BookingEventType.STATUS_CHANGED)
+                .bookingId(booking.getId())
+                .bookingVersion(booking.getVersion() + 1)
+                .itemId(booking.getItemId())
+                .ownerId(ownerId)
+                .bookerId(booking.getBookerId())
+                .status(status)
+                .previousStatus(booking.getStatus())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .created(LocalDateTime.now())
+                .build();
+    }
+
+    default Map<BookingState, Long> toBookingCounts(BookingStats stats) {
+        Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+        counts.put(BookingState.ALL, stats.getAll());
+        counts.put(BookingState.CURRENT, stats.getCurrent());
+        counts.put(BookingState.PAST, stats.getPast());
+        counts.put(BookingState.FUTURE, stats.getFuture());
+        counts.put(BookingState.WAITING, stats.getWaiting());
+        counts.put(BookingState.REJECTED, stats.getRejected());
+        return counts;
+    }
 }
@@ -3,40 +3,58 @@ package ru.practicum.shareit.booking.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
-import javax.validation.constraints.Future;
-import javax.validation.constraints.FutureOrPresent;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.withItemAndBooker",
+        attributeNodes = {@NamedAttributeNode("item"), @NamedAttributeNode("booker")})
+@Table(name = "bookings", indexes = {
+        @Index(name = "bookings_booker_start_idx", columnList = "booker_id, start_date DESC"),
+        @Index(name = "bookings_booker_status_start_idx", columnList = "booker_id, status, start_date"),
+        @Index(name = "bookings_item_start_idx", columnList = "item_id, start_date"),
+        @Index(name = "bookings_item_status_start_idx", columnList = "item_id, status, start_date"),
+        @Index(name = "bookings_owner_export_idx", columnList = "owner_id, start_date DESC, id DESC")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Integer id;
     @Column(name = "start_date")
     @NotNull
-    @FutureOrPresent
     private LocalDateTime start;
     @Column(name = "end_date")
     @NotNull
-    @Future
     private LocalDateTime end;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(table = "bookings", name = "item_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(table = "bookings", name = "booker_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User booker;
+    @Column(name = "owner_id", nullable = false)
+    private Integer ownerId;
     @Enumerated(value = EnumType.STRING)
     private BookingStatus status;
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer version;
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public interface BookingApproval {
+    Integer getId();
+
+    Integer getItemId();
+
+    Integer getBookerId();
+
+    BookingStatus getStatus();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    Integer getVersion();
+}
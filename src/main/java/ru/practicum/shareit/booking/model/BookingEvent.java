@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A booking change waiting in the outbox. Rows are written in the transaction that changes the booking
+ * and deleted once dispatched, so they carry a copy of the booking instead of foreign keys. Ids come from
+ * pooled sequence blocks and only identify the row; the events of one booking are ordered by the booking
+ * version they were written at.
+ */
+@Data
+@Entity
+@Table(name = "booking_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class BookingEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_outbox_seq")
+    @SequenceGenerator(name = "booking_outbox_seq", sequenceName = "booking_outbox_seq", allocationSize = 50)
+    private Long id;
+    @Enumerated(value = EnumType.STRING)
+    @Column(nullable = false)
+    private BookingEventType type;
+    @Column(name = "booking_id", nullable = false)
+    private Integer bookingId;
+    @Column(name = "booking_version", nullable = false)
+    private Integer bookingVersion;
+    @Column(name = "item_id", nullable = false)
+    private Integer itemId;
+    @Column(name = "owner_id", nullable = false)
+    private Integer ownerId;
+    @Column(name = "booker_id", nullable = false)
+    private Integer bookerId;
+    @Enumerated(value = EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+    @Enumerated(value = EnumType.STRING)
+    @Column(name = "previous_status")
+    private BookingStatus previousStatus;
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime start;
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime end;
+    @Column(nullable = false)
+    private LocalDateTime created;
+}
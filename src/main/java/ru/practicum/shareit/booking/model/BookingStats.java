@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.model;
+
+public interface BookingStats {
+    Long getAll();
+
+    Long getCurrent();
+
+    Long getPast();
+
+    Long getFuture();
+
+    Long getWaiting();
+
+    Long getRejected();
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public interface BookingView {
+    Integer getId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+
+    BookingStatus getStatus();
+
+    Integer getItemId();
+
+    String getItemName();
+
+    String getItemDescription();
+
+    Boolean getItemAvailable();
+
+    Integer getBookerId();
+
+    String getBookerName();
+
+    String getBookerEmail();
+}
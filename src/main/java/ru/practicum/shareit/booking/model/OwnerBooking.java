@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A row of the owner booking read model: the booking with its item and booker flattened in, so owner
+ * pages are read from this table alone. It is written by the booking, item and user write paths and
+ * can be rebuilt from the bookings table at any time. The id is the booking id, so the row tells Spring
+ * Data it is new until loaded or persisted, which saves the select a merge would issue.
+ */
+@Data
+@Entity
+@Table(name = "owner_booking_view", indexes = {
+        @Index(name = "owner_booking_view_owner_start_idx", columnList = "owner_id, start_date DESC, booking_id DESC"),
+        @Index(name = "owner_booking_view_owner_status_start_idx",
+                columnList = "owner_id, status, start_date DESC, booking_id DESC"),
+        @Index(name = "owner_booking_view_item_idx", columnList = "item_id"),
+        @Index(name = "owner_booking_view_booker_idx", columnList = "booker_id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class OwnerBooking implements Persistable<Integer> {
+    @Id
+    @Column(name = "booking_id")
+    private Integer bookingId;
+    @Column(name = "owner_id", nullable = false)
+    private Integer ownerId;
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime start;
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime end;
+    @Enumerated(value = EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+    @Column(name = "item_id", nullable = false)
+    private Integer itemId;
+    @Column(name = "item_name", nullable = false)
+    private String itemName;
+    @Column(name = "item_description")
+    private String itemDescription;
+    @Column(name = "item_available", nullable = false)
+    private Boolean itemAvailable;
+    @Column(name = "booker_id", nullable = false)
+    private Integer bookerId;
+    @Column(name = "booker_name", nullable = false)
+    private String bookerName;
+    @Column(name = "booker_email", nullable = false)
+    private String bookerEmail;
+    @Transient
+    @Builder.Default
+    private boolean persisted = false;
+
+    @Override
+    public Integer getId() {
+        return bookingId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.outbox;
+
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+
+import java.util.List;
+
+/**
+ * Receives dispatched outbox events. Batches carry no global order, since concurrent dispatchers publish
+ * them in parallel; a sink orders the events of one booking by bookingVersion. A batch is removed from the
+ * outbox only after publish returns, so a sink that throws gets the same batch again and must tolerate duplicates.
+ */
+public interface BookingEventSink {
+    void publish(List<BookingEventDto> events);
+}
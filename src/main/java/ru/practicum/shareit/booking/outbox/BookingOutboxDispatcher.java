@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.repository.BookingEventRepository;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the booking outbox to the configured sink. Each batch is read, published and deleted in one
+ * transaction, so events reach the sink at least once; rows locked by another instance are skipped, which
+ * lets instances publish batches in parallel and out of order. The poll interval 0 turns polling off, leaving {@link #drain()} to the caller.
+ */
+@Slf4j
+@Component
+public class BookingOutboxDispatcher {
+    private final BookingEventRepository bookingEventRepository;
+    private final BookingEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private ScheduledExecutorService scheduler;
+
+    public BookingOutboxDispatcher(BookingEventRepository bookingEventRepository,
+                                   BookingEventSink sink,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${shareit.booking.outbox.batch-size:100}") int batchSize,
+                                   @Value("${shareit.booking.outbox.poll-interval:1s}") Duration pollInterval) {
+        this.bookingEventRepository = bookingEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (pollInterval.isZero() || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Dispatches batches until the outbox is empty and returns the number of events dispatched.
+     */
+    public int drain() {
+        int total = 0;
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+            total += dispatched;
+        } while (dispatched == batchSize);
+        return total;
+    }
+
+    private void poll() {
+        try {
+            int dispatched = drain();
+            if (dispatched > 0) {
+                log.debug("Booking outbox: {} events dispatched", dispatched);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Booking outbox not drained, retrying in {}", pollInterval, e);
+        }
+    }
+
+    private int dispatchBatch() {
+        Integer dispatched = transactionTemplate.execute(status -> {
+            List<BookingEvent> events = bookingEventRepository.findNextBatch(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            sink.publish(events.stream()
+                    .map(BookingMapper.INSTANCE::toBookingEventDto)
+                    .collect(Collectors.toList()));
+            bookingEventRepository.deleteAllByIdInBatch(events.stream()
+                    .map(BookingEvent::getId)
+                    .collect(Collectors.toList()));
+            return events.size();
+        });
+        return dispatched == null ? 0 : dispatched;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+
+import java.util.List;
+
+/**
+ * Publishes every event as an application event, so in-process consumers subscribe with
+ * {@code @EventListener} on a {@link BookingEventDto} parameter.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.outbox.sink", havingValue = "listener", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ListenerBookingEventSink implements BookingEventSink {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<BookingEventDto> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a file, one JSON object per line, for local testing of consumers.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.outbox.sink", havingValue = "file")
+public class NdjsonBookingEventSink implements BookingEventSink {
+    private final ObjectWriter writer;
+    private final Path file;
+
+    public NdjsonBookingEventSink(ObjectMapper objectMapper,
+                                  @Value("${shareit.booking.outbox.file:booking-events.ndjson}") Path file) {
+        this.writer = objectMapper.writerFor(BookingEventDto.class);
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void publish(List<BookingEventDto> events) {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (BookingEventDto event : events) {
+                out.write(writer.writeValueAsString(event));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Booking events not written to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
+
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+    /**
+     * The oldest events not locked by another dispatcher; a lock timeout of -2 is Hibernate's SKIP LOCKED.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM BookingEvent AS e ORDER BY e.id")
+    List<BookingEvent> findNextBatch(Pageable pageable);
+}
@@ -2,67 +2,177 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStats;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+@Transactional(readOnly = true)
 public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    Page<Booking> findAllByBookerOrderByStartDesc(User booker, Pageable pageable);
+    String VIEW = "SELECT b.id AS id, b.start AS startDate, b.end AS endDate, b.status AS status," +
+            " i.id AS itemId, i.name AS itemName, i.description AS itemDescription, i.available AS itemAvailable," +
+            " u.id AS bookerId, u.name AS bookerName, u.email AS bookerEmail" +
+            " FROM Booking AS b JOIN b.item AS i JOIN b.booker AS u";
+    String EXPORT_FETCH_SIZE = "1000";
+    String STATS = "SELECT COUNT(*) AS \"all\"," +
+            " COUNT(*) FILTER (WHERE b.start_date < :now AND b.end_date > :now) AS \"current\"," +
+            " COUNT(*) FILTER (WHERE b.end_date < :now) AS \"past\"," +
+            " COUNT(*) FILTER (WHERE b.start_date > :now) AS \"future\"," +
+            " COUNT(*) FILTER (WHERE b.status = 'WAITING') AS \"waiting\"," +
+            " COUNT(*) FILTER (WHERE b.status = 'REJECTED') AS \"rejected\"" +
+            " FROM bookings AS b";
 
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.booker = :booker AND" +
+    @EntityGraph("Booking.withItemAndBooker")
+    Optional<Booking> findWithItemAndBookerById(Integer id);
+
+    @Query(value = STATS + " WHERE b.owner_id = :ownerId", nativeQuery = true)
+    BookingStats countStatesByOwnerId(Integer ownerId, LocalDateTime now);
+
+    @Query(value = STATS + " WHERE b.booker_id = :bookerId", nativeQuery = true)
+    BookingStats countStatesByBookerId(Integer bookerId, LocalDateTime now);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.status AS status," +
+            " b.start AS start, b.end AS end, b.version AS version" +
+            " FROM Booking AS b WHERE b.id IN (:ids) AND b.ownerId = :ownerId")
+    List<BookingApproval> findApprovalsByIdInAndOwnerId(Collection<Integer> ids, Integer ownerId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking AS b SET b.status = :status, b.version = b.version + 1" +
+            " WHERE b.id IN (:ids) AND b.status <> :status")
+    int updateStatusByIdIn(Collection<Integer> ids, BookingStatus status);
+
+    @Query(VIEW + " WHERE b.booker = :booker" +
+            " ORDER BY b.start DESC, b.id DESC")
+    Page<BookingView> findAllByBookerOrderByStartDesc(User booker, Pageable pageable);
+
+    @Query(VIEW + " WHERE b.booker = :booker AND" +
             " b.start > current_timestamp()" +
-            " ORDER BY b.start DESC")
-    Page<Booking> findAllFutureByBooker(User booker, Pageable pageable);
+            " ORDER BY b.start DESC, b.id DESC")
+    Page<BookingView> findAllFutureByBooker(User booker, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.booker = :booker AND" +
+    @Query(VIEW + " WHERE b.booker = :booker AND" +
             " b.end < current_timestamp()" +
-            " ORDER BY b.start DESC")
-    Page<Booking> findAllPastByBooker(User booker, Pageable pageable);
+            " ORDER BY b.start DESC, b.id DESC")
+    Page<BookingView> findAllPastByBooker(User booker, Pageable pageable);
 
     @Query(value = "SELECT b FROM Booking AS b WHERE b.booker = :booker AND" +
             " b.end < current_timestamp()" +
             " ORDER BY b.start DESC")
     List<Booking> findAllPastByBooker(User booker);
 
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.booker = :booker AND" +
+    @Query(VIEW + " WHERE b.booker = :booker AND" +
             " b.start < current_timestamp() AND b.end > current_timestamp()" +
-            " ORDER BY b.start DESC")
-    Page<Booking> findAllCurrentByBooker(User booker, Pageable pageable);
+            " ORDER BY b.start DESC, b.id DESC")
+    Page<BookingView> findAllCurrentByBooker(User booker, Pageable pageable);
+
+    @Query(VIEW + " WHERE b.booker = :booker AND" +
+            " b.status = :status" +
+            " ORDER BY b.start DESC, b.id DESC")
+    Page<BookingView> findAllByBookerAndStatusOrderByStartDesc(User booker, BookingStatus status,
+                                                               Pageable pageable);
+
+    @Query(VIEW + " WHERE b.booker = :booker AND" +
+            " (b.start < :start OR b.start = :start AND b.id < :id)" +
+            " ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findAllByBookerAfter(User booker, LocalDateTime start, Integer id, Pageable pageable);
+
+    @Query(VIEW + " WHERE b.booker = :booker AND" +
+            " b.start > current_timestamp() AND" +
+            " (b.start < :start OR b.start = :start AND b.id < :id)" +
+            " ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findAllFutureByBookerAfter(User booker, LocalDateTime start, Integer id, Pageable pageable);
+
+    @Query(VIEW + " WHERE b.booker = :booker AND" +
+            " b.end < current_timestamp() AND" +
+            " (b.start < :start OR b.start = :start AND b.id < :id)" +
+            " ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findAllPastByBookerAfter(User booker, LocalDateTime start, Integer id, Pageable pageable);
+
+    @Query(VIEW + " WHERE b.booker = :booker AND" +
+            " b.start < current_timestamp() AND b.end > current_timestamp() AND" +
+            " (b.start < :start OR b.start = :start AND b.id < :id)" +
+            " ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findAllCurrentByBookerAfter(User booker, LocalDateTime start, Integer id, Pageable pageable);
 
-    Page<Booking> findAllByBookerAndStatusOrderByStartDesc(User booker, BookingStatus status, Pageable pageable);
+    @Query(VIEW + " WHERE b.booker = :booker AND" +
+            " b.status = :status AND" +
+            " (b.start < :start OR b.start = :start AND b.id < :id)" +
+            " ORDER BY b.start DESC, b.id DESC")
+    List<BookingView> findAllByBookerAndStatusAfter(User booker, BookingStatus status, LocalDateTime start, Integer id,
+                                                    Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerOrderByStartDesc(User owner, Pageable pageable);
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE))
+    @Query(VIEW + " WHERE b.ownerId = :ownerId" +
+            " ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingView> streamAllByOwner(Integer ownerId);
 
-    @Query("SELECT b FROM Booking AS b WHERE b.item.owner = :owner AND" +
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE))
+    @Query(VIEW + " WHERE b.ownerId = :ownerId AND" +
             " b.start > current_timestamp()" +
-            " ORDER BY b.start DESC")
-    Page<Booking> findAllFutureByOwner(User owner, Pageable pageable);
+            " ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingView> streamFutureByOwner(Integer ownerId);
 
-    @Query("SELECT b FROM Booking AS b WHERE b.item.owner = :owner AND" +
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE))
+    @Query(VIEW + " WHERE b.ownerId = :ownerId AND" +
             " b.end < current_timestamp()" +
-            " ORDER BY b.start DESC")
-    Page<Booking> findAllPastByOwner(User owner, Pageable pageable);
+            " ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingView> streamPastByOwner(Integer ownerId);
 
-    @Query("SELECT b FROM Booking AS b WHERE b.item.owner = :owner AND" +
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE))
+    @Query(VIEW + " WHERE b.ownerId = :ownerId AND" +
             " b.start < current_timestamp() AND b.end > current_timestamp()" +
-            " ORDER BY b.start DESC")
-    Page<Booking> findAllCurrentByOwner(User owner, Pageable pageable);
+            " ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingView> streamCurrentByOwner(Integer ownerId);
 
-    Page<Booking> findAllByItemOwnerAndStatusOrderByStartDesc(User owner, BookingStatus status, Pageable pageable);
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE))
+    @Query(VIEW + " WHERE b.ownerId = :ownerId AND" +
+            " b.status = :status" +
+            " ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingView> streamByOwnerAndStatus(Integer ownerId, BookingStatus status);
 
     @Query(value = "SELECT b FROM Booking AS b WHERE b.item = :item AND" +
             " (b.end < current_timestamp() OR b.start < current_timestamp() AND b.end > current_timestamp())" +
             " ORDER BY b.start DESC")
-    Page<Booking> findAllPastOrCurrentByItemDesc(Item item, Pageable pageable);
+    List<Booking> findAllPastOrCurrentByItemDesc(Item item, Pageable pageable);
 
     @Query(value = "SELECT b FROM Booking AS b WHERE b.item = :item AND" +
             " b.start > current_timestamp()" +
             " AND b.status = 'APPROVED'" +
             " ORDER BY b.start ASC")
-    Page<Booking> findAllFutureByItemAsc(Item item, Pageable pageable);
+    List<Booking> findAllFutureByItemAsc(Item item, Pageable pageable);
+
+    @Query("SELECT b.start AS start, b.end AS end FROM Booking AS b WHERE b.item.id = :itemId AND b.status = :status")
+    List<BookingPeriod> findAllByItemIdAndStatus(Integer itemId, BookingStatus status);
+
+    @Query(value = "SELECT * FROM (" +
+            " SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC) AS rn" +
+            " FROM bookings AS b WHERE b.item_id IN (:itemIds) AND" +
+            " (b.end_date < :now OR b.start_date < :now AND b.end_date > :now)" +
+            ") AS last_bookings WHERE last_bookings.rn = 1" +
+            " UNION ALL" +
+            " SELECT * FROM (" +
+            " SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC) AS rn" +
+            " FROM bookings AS b WHERE b.item_id IN (:itemIds) AND" +
+            " b.start_date > :now AND b.status = 'APPROVED'" +
+            ") AS next_bookings WHERE next_bookings.rn = 1",
+            nativeQuery = true)
+    List<Booking> findLastAndNextByItemIds(Collection<Integer> itemIds, LocalDateTime now);
 }
\ No newline at end of file
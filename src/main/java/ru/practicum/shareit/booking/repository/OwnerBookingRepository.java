@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.OwnerBooking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface OwnerBookingRepository extends JpaRepository<OwnerBooking, Integer> {
+    String BY_OWNER = "SELECT v FROM OwnerBooking AS v WHERE v.ownerId = :ownerId";
+    String SEEK = " AND (v.start < :start OR v.start = :start AND v.bookingId < :id)";
+    String ORDER = " ORDER BY v.start DESC, v.bookingId DESC";
+
+    @Query(BY_OWNER + ORDER)
+    List<OwnerBooking> findAllByOwner(Integer ownerId, Pageable pageable);
+
+    @Query(BY_OWNER + " AND v.start > current_timestamp()" + ORDER)
+    List<OwnerBooking> findAllFutureByOwner(Integer ownerId, Pageable pageable);
+
+    @Query(BY_OWNER + " AND v.end < current_timestamp()" + ORDER)
+    List<OwnerBooking> findAllPastByOwner(Integer ownerId, Pageable pageable);
+
+    @Query(BY_OWNER + " AND v.start < current_timestamp() AND v.end > current_timestamp()" + ORDER)
+    List<OwnerBooking> findAllCurrentByOwner(Integer ownerId, Pageable pageable);
+
+    @Query(BY_OWNER + " AND v.status = :status" + ORDER)
+    List<OwnerBooking> findAllByOwnerAndStatus(Integer ownerId, BookingStatus status, Pageable pageable);
+
+    @Query(BY_OWNER + SEEK + ORDER)
+    List<OwnerBooking> findAllByOwnerAfter(Integer ownerId, LocalDateTime start, Integer id, Pageable pageable);
+
+    @Query(BY_OWNER + " AND v.start > current_timestamp()" + SEEK + ORDER)
+    List<OwnerBooking> findAllFutureByOwnerAfter(Integer ownerId, LocalDateTime start, Integer id, Pageable pageable);
+
+    @Query(BY_OWNER + " AND v.end < current_timestamp()" + SEEK + ORDER)
+    List<OwnerBooking> findAllPastByOwnerAfter(Integer ownerId, LocalDateTime start, Integer id, Pageable pageable);
+
+    @Query(BY_OWNER + " AND v.start < current_timestamp() AND v.end > current_timestamp()" + SEEK + ORDER)
+    List<OwnerBooking> findAllCurrentByOwnerAfter(Integer ownerId, LocalDateTime start, Integer id, Pageable pageable);
+
+    @Query(BY_OWNER + " AND v.status = :status" + SEEK + ORDER)
+    List<OwnerBooking> findAllByOwnerAndStatusAfter(Integer ownerId, BookingStatus status, LocalDateTime start,
+                                                    Integer id, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OwnerBooking AS v SET v.status = :status WHERE v.bookingId IN (:ids)")
+    int updateStatusByBookingIdIn(Collection<Integer> ids, BookingStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OwnerBooking AS v SET v.itemName = :name, v.itemDescription = :description," +
+            " v.itemAvailable = :available WHERE v.itemId = :itemId")
+    int updateItem(Integer itemId, String name, String description, Boolean available);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OwnerBooking AS v SET v.bookerName = :name, v.bookerEmail = :email WHERE v.bookerId = :bookerId")
+    int updateBooker(Integer bookerId, String name, String email);
+
+    @Transactional
+    @Modifying
+    @Query(value = "LOCK TABLE owner_booking_view IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO owner_booking_view (booking_id, owner_id, start_date, end_date, status," +
+            " item_id, item_name, item_description, item_available, booker_id, booker_name, booker_email)" +
+            " SELECT b.id, b.owner_id, b.start_date, b.end_date, b.status," +
+            " i.id, i.name, i.description, i.available, u.id, u.name, u.email" +
+            " FROM bookings AS b JOIN items AS i ON i.id = b.item_id JOIN users AS u ON u.id = b.booker_id",
+            nativeQuery = true)
+    int insertAllFromBookings();
+}
@@ -1,23 +1,42 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingResponseDto saveBooking(BookingCreateDto bookingCreateDto, Integer userId);
 
     BookingResponseDto approveBooking(Integer bookingId, Boolean isApproved, Integer ownerId);
 
+    List<BookingApprovalResultDto> approveBookings(List<Integer> bookingIds, Boolean isApproved, Integer ownerId);
+
     BookingResponseDto getBookingById(Integer bookingId, Integer userId);
 
     List<BookingResponseDto> getBookingRequestsByUserId(Integer userId, String state, int from, int size);
 
+    List<BookingResponseDto> getBookingRequestsByUserId(Integer userId, String state, PageCursor after, int size);
+
     List<BookingResponseDto> getBookingsByOwnerId(Integer ownerId, String state, int from, int size);
 
+    List<BookingResponseDto> getBookingsByOwnerId(Integer ownerId, String state, PageCursor after, int size);
+
+    void exportBookingsByOwnerId(Integer ownerId, String state, Consumer<BookingResponseDto> consumer);
+
+    Map<BookingState, Long> getBookingStatsByOwnerId(Integer ownerId, boolean fast);
+
+    Map<BookingState, Long> getBookingStatsByBookerId(Integer bookerId, boolean fast);
+
+    int rebuildOwnerBookingView();
+
     Booking getLastBookingByItem(Item item);
 
     Booking getNextBookingByItem(Item item);
@@ -2,36 +2,64 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityCache;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.lock.ItemLocks;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.custom.CustomPageRequest;
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingEvent;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.model.OwnerBooking;
+import ru.practicum.shareit.booking.repository.BookingEventRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.OwnerBookingRepository;
+import ru.practicum.shareit.booking.stats.BookingStatsCache;
+import ru.practicum.shareit.booking.view.OwnerBookingProjector;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final BookingAvailabilityCache availabilityCache;
+    private final ItemLocks itemLocks;
+    private final BookingStatsCache statsCache;
+    private final BookingEventRepository bookingEventRepository;
+    private final OwnerBookingRepository ownerBookingRepository;
+    private final OwnerBookingProjector ownerBookingProjector;
 
     @Transactional
     @Override
@@ -42,29 +70,101 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException("Нет вещи с id = " + bookingCreateDto.getItemId()));
         User booker = userService.findById(userId);
         compareBookerAndItemOwner(booker, optionalItem);
+        itemLocks.lockUntilCompletion(optionalItem.getId());
         Booking booking = BookingMapper.INSTANCE.toBooking(bookingCreateDto, optionalItem, booker);
         if (!booking.getItem().getAvailable().equals(Boolean.TRUE)) {
             throw new UnavailableItemException(booking.getItem().getId());
         }
-        return BookingMapper.INSTANCE.toBookingResponseDto(bookingRepository.save(booking));
+        checkOverlap(booking);
+        Booking saved = bookingRepository.save(booking);
+        statsCache.invalidate(saved.getOwnerId(), userId);
+        bookingEventRepository.save(BookingMapper.INSTANCE.toBookingEvent(saved, null));
+        ownerBookingProjector.created(saved);
+        return BookingMapper.INSTANCE.toBookingResponseDto(saved);
     }
 
     @Transactional
     @Override
     public BookingResponseDto approveBooking(Integer bookingId, Boolean isApproved, Integer ownerId) {
         log.debug("Approve Booking: bookingId: {}, userId: {}, approving: {}", bookingId, ownerId, isApproved);
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(() -> {
             throw new NotFoundException("Не найден" + bookingId);
         });
         BookingStatus newStatus = BookingStatus.approve(isApproved);
         checkBookingBeforeApprove(booking, newStatus, ownerId);
+        itemLocks.lockUntilCompletion(booking.getItem().getId());
+        if (newStatus == BookingStatus.APPROVED) {
+            checkOverlap(booking);
+            availabilityCache.reserve(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        } else if (booking.getStatus() == BookingStatus.APPROVED) {
+            availabilityCache.release(booking.getItem().getId());
+        }
+        BookingStatus previousStatus = booking.getStatus();
+        statsCache.invalidate(ownerId, booking.getBooker().getId());
         booking.setStatus(newStatus);
+        bookingRepository.flush();
+        bookingEventRepository.save(BookingMapper.INSTANCE.toBookingEvent(booking, previousStatus));
+        ownerBookingProjector.statusChanged(booking.getId(), newStatus);
         return BookingMapper.INSTANCE.toBookingResponseDto(booking);
     }
 
+    @Transactional
+    @Override
+    public List<BookingApprovalResultDto> approveBookings(List<Integer> bookingIds, Boolean isApproved, Integer ownerId) {
+        log.debug("Approve Bookings: bookingIds: {}, userId: {}, approving: {}", bookingIds, ownerId, isApproved);
+        BookingStatus newStatus = BookingStatus.approve(isApproved);
+        Map<Integer, BookingApproval> bookings = bookingRepository
+                .findApprovalsByIdInAndOwnerId(new HashSet<>(bookingIds), ownerId).stream()
+                .collect(Collectors.toMap(BookingApproval::getId, Function.identity()));
+        itemLocks.lockAllUntilCompletion(bookings.values().stream()
+                .map(BookingApproval::getItemId)
+                .collect(Collectors.toSet()));
+        Map<Integer, List<BookingApproval>> approvedByItem = new HashMap<>();
+        Map<Integer, BookingApprovalResultDto> results = new LinkedHashMap<>();
+        List<BookingEvent> events = new ArrayList<>();
+        for (Integer bookingId : bookingIds) {
+            if (results.containsKey(bookingId)) {
+                continue;
+            }
+            BookingApproval booking = bookings.get(bookingId);
+            if (booking == null) {
+                results.put(bookingId, approvalResult(bookingId, BookingApprovalResultDto.Outcome.NOT_FOUND, null,
+                        "Booking " + bookingId + " not found or doesn't belong you"));
+            } else if (newStatus == booking.getStatus()) {
+                results.put(bookingId, approvalResult(bookingId, BookingApprovalResultDto.Outcome.UNCHANGED,
+                        booking.getStatus(), "Booking " + bookingId + " is already " + newStatus));
+            } else if (newStatus == BookingStatus.APPROVED && hasOverlap(booking, approvedByItem)) {
+                results.put(bookingId, approvalResult(bookingId, BookingApprovalResultDto.Outcome.UNAVAILABLE,
+                        booking.getStatus(), "Item " + booking.getItemId() + " is unavailable from " +
+                                booking.getStart() + " to " + booking.getEnd()));
+            } else {
+                if (newStatus == BookingStatus.APPROVED) {
+                    approvedByItem.computeIfAbsent(booking.getItemId(), itemId -> new ArrayList<>()).add(booking);
+                    availabilityCache.reserve(booking.getItemId(), booking.getStart(), booking.getEnd());
+                } else if (booking.getStatus() == BookingStatus.APPROVED) {
+                    availabilityCache.release(booking.getItemId());
+                }
+                statsCache.invalidate(ownerId, booking.getBookerId());
+                events.add(BookingMapper.INSTANCE.toBookingEvent(booking, ownerId, newStatus));
+                results.put(bookingId, approvalResult(bookingId, BookingApprovalResultDto.Outcome.UPDATED,
+                        newStatus, null));
+            }
+        }
+        List<Integer> updatedIds = results.values().stream()
+                .filter(result -> result.getOutcome() == BookingApprovalResultDto.Outcome.UPDATED)
+                .map(BookingApprovalResultDto::getId)
+                .collect(Collectors.toList());
+        if (!updatedIds.isEmpty() && bookingRepository.updateStatusByIdIn(updatedIds, newStatus) != updatedIds.size()) {
+            throw new OptimisticLockingFailureException("Bookings " + updatedIds + " were changed concurrently");
+        }
+        bookingEventRepository.saveAll(events);
+        ownerBookingProjector.statusChanged(updatedIds, newStatus);
+        return new ArrayList<>(results.values());
+    }
+
     @Override
     public BookingResponseDto getBookingById(Integer bookingId, Integer userId) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(() -> {
             throw new NotFoundException("Booking " + bookingId + " not found");
         });
         checkAccess(booking, userId);
@@ -74,11 +174,11 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingResponseDto> getBookingRequestsByUserId(Integer userId, String state, int from, int size) {
         BookingState bookingState = BookingState.fromString(state);
-        User booker = userRepository.findById(userId).orElseThrow(() -> {
-            throw new NotFoundException("Пользователь с не найден userId: " + userId);
+        User booker = userCache.findById(userId).orElseThrow(() -> {
+            throw new NotFoundException("Пользователь не найден userId: " + userId);
         });
         Pageable pageRequest = new CustomPageRequest(from, size);
-        List<Booking> bookingResponseDtos;
+        List<BookingView> bookingResponseDtos;
         log.debug("Get Booking by User request: state: {}, userId: {}", bookingState, userId);
         switch (bookingState) {
             case ALL:
@@ -109,43 +209,192 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<BookingResponseDto> getBookingRequestsByUserId(Integer userId, String state, PageCursor after, int size) {
+        BookingState bookingState = BookingState.fromString(state);
+        User booker = userCache.findById(userId).orElseThrow(() -> {
+            throw new NotFoundException("Пользователь не найден userId: " + userId);
+        });
+        Pageable pageRequest = PageRequest.of(0, size);
+        List<BookingView> bookings;
+        log.debug("Get Booking by User request: state: {}, userId: {}, after: {}", bookingState, userId, after.getId());
+        switch (bookingState) {
+            case ALL:
+                bookings = bookingRepository.findAllByBookerAfter(booker, after.getTime(), after.getId(), pageRequest);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findAllCurrentByBookerAfter(booker, after.getTime(), after.getId(),
+                        pageRequest);
+                break;
+            case PAST:
+                bookings = bookingRepository.findAllPastByBookerAfter(booker, after.getTime(), after.getId(),
+                        pageRequest);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findAllFutureByBookerAfter(booker, after.getTime(), after.getId(),
+                        pageRequest);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findAllByBookerAndStatusAfter(booker, BookingStatus.WAITING,
+                        after.getTime(), after.getId(), pageRequest);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findAllByBookerAndStatusAfter(booker, BookingStatus.REJECTED,
+                        after.getTime(), after.getId(), pageRequest);
+                break;
+            default:
+                throw new InvalidStatusException();
+        }
+        return bookings.stream()
+                .map(BookingMapper.INSTANCE::toBookingResponseDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<BookingResponseDto> getBookingsByOwnerId(Integer ownerId, String state, int from, int size) {
         BookingState bookingState = BookingState.fromString(state);
-        User owner = userRepository.findById(ownerId).orElseThrow(() -> {
+        User owner = userCache.findById(ownerId).orElseThrow(() -> {
             throw new NotFoundException("Пользователь не найден userId: " + ownerId);
         });
         Pageable pageRequest = new CustomPageRequest(from, size);
-        List<Booking> bookingResponseDtos;
+        List<OwnerBooking> bookings;
         switch (bookingState) {
             case ALL:
-                bookingResponseDtos = bookingRepository.findAllByItemOwnerOrderByStartDesc(owner, pageRequest).getContent();
+                bookings = ownerBookingRepository.findAllByOwner(owner.getId(), pageRequest);
                 break;
             case CURRENT:
-                bookingResponseDtos = bookingRepository.findAllCurrentByOwner(owner, pageRequest).getContent();
+                bookings = ownerBookingRepository.findAllCurrentByOwner(owner.getId(), pageRequest);
                 break;
             case PAST:
-                bookingResponseDtos = bookingRepository.findAllPastByOwner(owner, pageRequest).getContent();
+                bookings = ownerBookingRepository.findAllPastByOwner(owner.getId(), pageRequest);
                 break;
             case FUTURE:
-                bookingResponseDtos = bookingRepository.findAllFutureByOwner(owner, pageRequest).getContent();
+                bookings = ownerBookingRepository.findAllFutureByOwner(owner.getId(), pageRequest);
                 break;
             case WAITING:
-                bookingResponseDtos = bookingRepository.findAllByItemOwnerAndStatusOrderByStartDesc(owner,
-                        BookingStatus.WAITING, pageRequest).getContent();
+                bookings = ownerBookingRepository.findAllByOwnerAndStatus(owner.getId(), BookingStatus.WAITING,
+                        pageRequest);
                 break;
             case REJECTED:
-                bookingResponseDtos = bookingRepository.findAllByItemOwnerAndStatusOrderByStartDesc(owner,
-                        BookingStatus.REJECTED, pageRequest).getContent();
+                bookings = ownerBookingRepository.findAllByOwnerAndStatus(owner.getId(), BookingStatus.REJECTED,
+                        pageRequest);
                 break;
             default:
                 throw new InvalidStatusException();
         }
-        return bookingResponseDtos.stream()
+        return bookings.stream()
                 .map(BookingMapper.INSTANCE::toBookingResponseDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<BookingResponseDto> getBookingsByOwnerId(Integer ownerId, String state, PageCursor after, int size) {
+        BookingState bookingState = BookingState.fromString(state);
+        User owner = userCache.findById(ownerId).orElseThrow(() -> {
+            throw new NotFoundException("Пользователь не найден userId: " + ownerId);
+        });
+        Pageable pageRequest = PageRequest.of(0, size);
+        List<OwnerBooking> bookings;
+        switch (bookingState) {
+            case ALL:
+                bookings = ownerBookingRepository.findAllByOwnerAfter(owner.getId(), after.getTime(), after.getId(),
+                        pageRequest);
+                break;
+            case CURRENT:
+                bookings = ownerBookingRepository.findAllCurrentByOwnerAfter(owner.getId(), after.getTime(),
+                        after.getId(), pageRequest);
+                break;
+            case PAST:
+                bookings = ownerBookingRepository.findAllPastByOwnerAfter(owner.getId(), after.getTime(),
+                        after.getId(), pageRequest);
+                break;
+            case FUTURE:
+                bookings = ownerBookingRepository.findAllFutureByOwnerAfter(owner.getId(), after.getTime(),
+                        after.getId(), pageRequest);
+                break;
+            case WAITING:
+                bookings = ownerBookingRepository.findAllByOwnerAndStatusAfter(owner.getId(), BookingStatus.WAITING,
+                        after.getTime(), after.getId(), pageRequest);
+                break;
+            case REJECTED:
+                bookings = ownerBookingRepository.findAllByOwnerAndStatusAfter(owner.getId(), BookingStatus.REJECTED,
+                        after.getTime(), after.getId(), pageRequest);
+                break;
+            default:
+                throw new InvalidStatusException();
+        }
+        return bookings.stream()
+                .map(BookingMapper.INSTANCE::toBookingResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    @Override
+    public void exportBookingsByOwnerId(Integer ownerId, String state, Consumer<BookingResponseDto> consumer) {
+        BookingState bookingState = BookingState.fromString(state);
+        User owner = userCache.findById(ownerId).orElseThrow(() -> {
+            throw new NotFoundException("Пользователь не найден userId: " + ownerId);
+        });
+        log.debug("Export Bookings by owner: state: {}, userId: {}", bookingState, ownerId);
+        Stream<BookingView> bookings;
+        switch (bookingState) {
+            case ALL:
+                bookings = bookingRepository.streamAllByOwner(owner.getId());
+                break;
+            case CURRENT:
+                bookings = bookingRepository.streamCurrentByOwner(owner.getId());
+                break;
+            case PAST:
+                bookings = bookingRepository.streamPastByOwner(owner.getId());
+                break;
+            case FUTURE:
+                bookings = bookingRepository.streamFutureByOwner(owner.getId());
+                break;
+            case WAITING:
+                bookings = bookingRepository.streamByOwnerAndStatus(owner.getId(), BookingStatus.WAITING);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.streamByOwnerAndStatus(owner.getId(), BookingStatus.REJECTED);
+                break;
+            default:
+                throw new InvalidStatusException();
+        }
+        try (bookings) {
+            bookings.map(BookingMapper.INSTANCE::toBookingResponseDto).forEach(consumer);
+        }
+    }
+
+    @Override
+    public Map<BookingState, Long> getBookingStatsByOwnerId(Integer ownerId, boolean fast) {
+        userCache.findById(ownerId).orElseThrow(() -> {
+            throw new NotFoundException("Пользователь не найден userId: " + ownerId);
+        });
+        log.debug("Get Booking stats by owner: userId: {}, fast: {}", ownerId, fast);
+        return fast
+                ? statsCache.getByOwnerId(ownerId)
+                : BookingMapper.INSTANCE.toBookingCounts(bookingRepository.countStatesByOwnerId(ownerId,
+                LocalDateTime.now()));
+    }
+
+    @Override
+    public Map<BookingState, Long> getBookingStatsByBookerId(Integer bookerId, boolean fast) {
+        userCache.findById(bookerId).orElseThrow(() -> {
+            throw new NotFoundException("Пользователь не найден userId: " + bookerId);
+        });
+        log.debug("Get Booking stats by booker: userId: {}, fast: {}", bookerId, fast);
+        return fast
+                ? statsCache.getByBookerId(bookerId)
+                : BookingMapper.INSTANCE.toBookingCounts(bookingRepository.countStatesByBookerId(bookerId,
+                LocalDateTime.now()));
+    }
+
+    @Transactional
+    @Override
+    public int rebuildOwnerBookingView() {
+        log.debug("Rebuild owner booking view");
+        return ownerBookingProjector.rebuild();
+    }
+
     @Override
     public Booking getLastBookingByItem(Item item) {
         return bookingRepository.findAllPastOrCurrentByItemDesc(item, new CustomPageRequest(0, 1)).stream()
@@ -159,7 +408,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private void checkBookingBeforeApprove(Booking booking, BookingStatus newStatus, Integer ownerId) {
-        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
+        if (!booking.getOwnerId().equals(ownerId)) {
             throw new NotFoundException("Item " + booking.getItem().getId() +
                     " from booking " + booking.getId() + " doesn't belong you");
         }
@@ -169,9 +418,32 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    private void checkOverlap(Booking booking) {
+        if (availabilityCache.hasOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+            throw new UnavailableItemException(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        }
+    }
+
+    private boolean hasOverlap(BookingApproval booking, Map<Integer, List<BookingApproval>> approvedByItem) {
+        return availabilityCache.hasOverlap(booking.getItemId(), booking.getStart(), booking.getEnd()) ||
+                approvedByItem.getOrDefault(booking.getItemId(), List.of()).stream()
+                        .anyMatch(approved -> approved.getStart().isBefore(booking.getEnd()) &&
+                                approved.getEnd().isAfter(booking.getStart()));
+    }
+
+    private BookingApprovalResultDto approvalResult(Integer bookingId, BookingApprovalResultDto.Outcome outcome,
+                                                    BookingStatus status, String error) {
+        return BookingApprovalResultDto.builder()
+                .id(bookingId)
+                .outcome(outcome)
+                .status(status)
+                .error(error)
+                .build();
+    }
+
     private void checkAccess(Booking booking, Integer userId) {
         if (!booking.getBooker().getId().equals(userId) &&
-                !booking.getItem().getOwner().getId().equals(userId)) {
+                !booking.getOwnerId().equals(userId)) {
             throw new NotFoundException("No access to booking " + booking.getId());
         }
     }
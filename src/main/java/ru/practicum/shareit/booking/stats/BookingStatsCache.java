@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingStats;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.custom.LruMap;
+import ru.practicum.shareit.custom.TransactionCallbacks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Booking counts per state for owners and bookers, loaded with one aggregate query. A write drops the
+ * entries of its owner and booker after commit, and CURRENT, PAST and FUTURE drift as time passes, so
+ * an entry is also reloaded once it is older than the ttl.
+ * <p>
+ * A load that overlaps a commit may have read the counts from before it, so every load is stamped with
+ * the write version of its user and only cached if no write committed in the meantime.
+ */
+@Slf4j
+@Component
+public class BookingStatsCache {
+    private static final int VERSION_STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final Map<Integer, Entry> owners;
+    private final Map<Integer, Entry> bookers;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    @Autowired
+    public BookingStatsCache(BookingRepository bookingRepository,
+                             @Value("${shareit.booking.stats.ttl:1m}") Duration ttl,
+                             @Value("${shareit.booking.stats.max-size:10000}") int maxSize) {
+        this(bookingRepository, ttl, maxSize, System::nanoTime);
+    }
+
+    BookingStatsCache(BookingRepository bookingRepository, Duration ttl, int maxSize, LongSupplier ticker) {
+        this.bookingRepository = bookingRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.owners = Collections.synchronizedMap(new LruMap<>(maxSize));
+        this.bookers = Collections.synchronizedMap(new LruMap<>(maxSize));
+    }
+
+    public Map<BookingState, Long> getByOwnerId(Integer ownerId) {
+        return get(owners, ownerId, id -> bookingRepository.countStatesByOwnerId(id, LocalDateTime.now()));
+    }
+
+    public Map<BookingState, Long> getByBookerId(Integer bookerId) {
+        return get(bookers, bookerId, id -> bookingRepository.countStatesByBookerId(id, LocalDateTime.now()));
+    }
+
+    public void invalidate(Integer ownerId, Integer bookerId) {
+        TransactionCallbacks.afterCommit(() -> {
+            evict(owners, ownerId);
+            evict(bookers, bookerId);
+        });
+    }
+
+    private Map<BookingState, Long> get(Map<Integer, Entry> entries, Integer userId,
+                                        Function<Integer, BookingStats> loader) {
+        long now = ticker.getAsLong();
+        Entry entry = entries.get(userId);
+        if (entry == null || now - entry.loadedAt >= ttlNanos) {
+            long version = versions.get(stripe(userId));
+            entry = new Entry(BookingMapper.INSTANCE.toBookingCounts(loader.apply(userId)), now);
+            log.debug("Booking stats of user {} loaded: {}", userId, entry.counts);
+            synchronized (entries) {
+                if (versions.get(stripe(userId)) == version) {
+                    entries.put(userId, entry);
+                }
+            }
+        }
+        return new EnumMap<>(entry.counts);
+    }
+
+    private void evict(Map<Integer, Entry> entries, Integer userId) {
+        synchronized (entries) {
+            versions.incrementAndGet(stripe(userId));
+            entries.remove(userId);
+        }
+    }
+
+    private static int stripe(Integer userId) {
+        return Math.floorMod(userId, VERSION_STRIPES);
+    }
+
+    private static class Entry {
+        private final EnumMap<BookingState, Long> counts;
+        private final long loadedAt;
+
+        Entry(Map<BookingState, Long> counts, long loadedAt) {
+            this.counts = new EnumMap<>(counts);
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.view;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.OwnerBookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the owner booking read model in step with the write path. Every method joins the caller's
+ * transaction, so a row never disagrees with a committed booking, item or user; changes made around
+ * it, such as imports straight into the bookings table, are picked up by {@link #rebuild()}.
+ */
+@Slf4j
+@Component
+public class OwnerBookingProjector {
+    private final OwnerBookingRepository ownerBookingRepository;
+    private final boolean lockTable;
+
+    public OwnerBookingProjector(OwnerBookingRepository ownerBookingRepository,
+                                 @Value("${shareit.booking.owner-view.lock-table:true}") boolean lockTable) {
+        this.ownerBookingRepository = ownerBookingRepository;
+        this.lockTable = lockTable;
+    }
+
+    public void created(Booking booking) {
+        ownerBookingRepository.save(BookingMapper.INSTANCE.toOwnerBooking(booking));
+    }
+
+    public void statusChanged(Integer bookingId, BookingStatus status) {
+        statusChanged(List.of(bookingId), status);
+    }
+
+    public void statusChanged(Collection<Integer> bookingIds, BookingStatus status) {
+        if (!bookingIds.isEmpty()) {
+            ownerBookingRepository.updateStatusByBookingIdIn(bookingIds, status);
+        }
+    }
+
+    public void itemChanged(Item item) {
+        ownerBookingRepository.updateItem(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+    }
+
+    public void userChanged(User user) {
+        ownerBookingRepository.updateBooker(user.getId(), user.getName(), user.getEmail());
+    }
+
+    /**
+     * Replaces the read model with a copy of the bookings table in one transaction. The table is locked
+     * against writes first: a writer that already changed the view is waited for, so its booking is
+     * copied, and a later writer blocks until the rebuild commits and then updates or inserts its row.
+     * Without the lock an approval could update a row the rebuild deleted, and the copy would keep the
+     * old status. Owner pages keep reading the old rows meanwhile. LOCK TABLE is PostgreSQL syntax, so
+     * where shareit.booking.owner-view.lock-table is off, as on H2, the rebuild must not overlap writes.
+     */
+    public int rebuild() {
+        if (lockTable) {
+            ownerBookingRepository.lockForRebuild();
+        }
+        ownerBookingRepository.deleteAllInBatch();
+        int rows = ownerBookingRepository.insertAllFromBookings();
+        log.info("Owner booking view rebuilt: {} rows", rows);
+        return rows;
+    }
+}
@@ -7,4 +7,6 @@ public final class Constants {
     public static final String SHARER_USER_ID = "X-Sharer-User-Id";
     public static final String FROM_DEFAULT = "0";
     public static final String SIZE_DEFAULT = "5";
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+    public static final int BATCH_MAX_SIZE = 1000;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.custom;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Access-ordered map that drops its least recently used entry once it grows past the limit, so a
+ * bounded cache evicts in constant time instead of scanning its entries. Not thread-safe; callers
+ * wrap it with {@link java.util.Collections#synchronizedMap(Map)}.
+ */
+public class LruMap<K, V> extends LinkedHashMap<K, V> {
+    private final int maxSize;
+
+    public LruMap(int maxSize) {
+        super(16, 0.75f, true);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.custom;
+
+import lombok.EqualsAndHashCode;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@EqualsAndHashCode
+public class PageCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime time;
+    private final Integer id;
+
+    public PageCursor(LocalDateTime time, Integer id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public PageCursor(Integer id) {
+        this(null, id);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            String time = value.substring(0, separator);
+            return new PageCursor(time.isEmpty() ? null : LocalDateTime.parse(time),
+                    Integer.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String value = (time == null ? "" : time.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTime() {
+        if (time == null) {
+            throw new ValidationException("Cursor has no time component");
+        }
+        return time;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * A row of a streamed batch that could not be read. When the stream itself is broken no further rows follow.
+ */
+public class MalformedRowException extends RuntimeException {
+    private final boolean last;
+
+    public MalformedRowException(String message, boolean last) {
+        super("Malformed row: " + message);
+        this.last = last;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.exception;
 
+import java.time.LocalDateTime;
+
 public class UnavailableItemException extends RuntimeException {
     public UnavailableItemException() {
         super();
@@ -8,4 +10,8 @@ public class UnavailableItemException extends RuntimeException {
     public UnavailableItemException(Integer id) {
         super("Item " + id + " is unavailable now");
     }
+
+    public UnavailableItemException(Integer id, LocalDateTime start, LocalDateTime end) {
+        super("Item " + id + " is already booked between " + start + " and " + end);
+    }
 }
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.item.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import ru.practicum.shareit.exception.MalformedRowException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * Rows of a batch request body. A row that does not bind to {@link ItemDto} is reported by {@link #next()} as a
+ * {@link MalformedRowException} and reading goes on with the following row; a syntax error ends the stream.
+ */
+class ItemBatchRows implements Iterator<ItemDto> {
+    private final MappingIterator<ItemDto> items;
+    private IOException broken;
+    private boolean ended;
+
+    ItemBatchRows(MappingIterator<ItemDto> items) {
+        this.items = items;
+    }
+
+    /**
+     * Reads every row before any is saved, so a body with more than {@code maxRows} rows is rejected as a whole
+     * instead of after its first chunks were committed. Malformed rows are replayed in place.
+     */
+    static Iterator<ItemDto> readAll(MappingIterator<ItemDto> items, int maxRows) {
+        ItemBatchRows rows = new ItemBatchRows(items);
+        List<Supplier<ItemDto>> buffered = new ArrayList<>();
+        while (rows.hasNext()) {
+            if (buffered.size() == maxRows) {
+                throw new ValidationException("Batch can't have more than " + maxRows + " rows");
+            }
+            try {
+                ItemDto item = rows.next();
+                buffered.add(() -> item);
+            } catch (MalformedRowException e) {
+                buffered.add(() -> {
+                    throw e;
+                });
+            }
+        }
+        Iterator<Supplier<ItemDto>> replay = buffered.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return replay.hasNext();
+            }
+
+            @Override
+            public ItemDto next() {
+                return replay.next().get();
+            }
+        };
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (ended) {
+            return false;
+        }
+        if (broken != null) {
+            return true;
+        }
+        try {
+            return items.hasNextValue();
+        } catch (IOException e) {
+            broken = e;
+            return true;
+        }
+    }
+
+    @Override
+    public ItemDto next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (broken == null) {
+            try {
+                return items.nextValue();
+            } catch (JsonMappingException e) {
+                throw new MalformedRowException(e.getOriginalMessage(), false);
+            } catch (IOException e) {
+                broken = e;
+            }
+        }
+        ended = true;
+        throw new MalformedRowException(broken instanceof JsonProcessingException
+                ? ((JsonProcessingException) broken).getOriginalMessage()
+                : broken.getMessage(), true);
+    }
+}
@@ -1,19 +1,27 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.constants.Constants;
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.service.ItemBatchService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.controller.Create;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -24,6 +32,8 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemBatchService itemBatchService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
@@ -31,9 +41,17 @@ public class ItemController {
                                               @PositiveOrZero
                                               @RequestParam(name = "from", defaultValue = Constants.FROM_DEFAULT) Integer from,
                                               @Positive
-                                              @RequestParam(name = "size", defaultValue = Constants.SIZE_DEFAULT) Integer size) {
+                                              @RequestParam(name = "size", defaultValue = Constants.SIZE_DEFAULT) Integer size,
+                                              @RequestParam(name = "after", required = false) String after,
+                                              HttpServletResponse response) {
         log.info("Получен GET запрос к эндпоинту: '/items', Строка параметра запроса для userId: {}", userId);
-        return itemService.findAllItems(userId, from, size);
+        List<ItemResponseDto> items = after == null
+                ? itemService.findAllItems(userId, from, size)
+                : itemService.findAllItems(userId, PageCursor.decode(after), size);
+        if (items.size() == size) {
+            response.setHeader(Constants.NEXT_CURSOR, new PageCursor(items.get(items.size() - 1).getId()).encode());
+        }
+        return items;
     }
 
     @GetMapping("/{itemId}")
@@ -53,6 +71,17 @@ public class ItemController {
         return ItemMapper.INSTANCE.toItemDto(itemService.create(item, userId));
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public List<ItemBatchResultDto> saveBatch(@RequestHeader(Constants.SHARER_USER_ID) Integer userId,
+                                              HttpServletRequest request) throws IOException {
+        log.info("Получен POST запрос к эндпоинту: '/items/batch', userId: {}", userId);
+        try (MappingIterator<ItemDto> items = objectMapper.readerFor(ItemDto.class)
+                .readValues(request.getInputStream())) {
+            return itemBatchService.saveBatch(userId, ItemBatchRows.readAll(items, Constants.BATCH_MAX_SIZE));
+        }
+    }
+
     @PatchMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
     public ItemDto update(@RequestHeader(Constants.SHARER_USER_ID) Integer userId,
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class ItemBatchResultDto {
+    private Integer index;
+    private Integer id;
+    private Status status;
+    private String error;
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        REJECTED
+    }
+}
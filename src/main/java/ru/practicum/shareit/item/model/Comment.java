@@ -15,15 +15,20 @@ import java.time.LocalDateTime;
 @Builder(toBuilder = true)
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
     @NotBlank
     private String text;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(table = "comments", name = "item_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Item item;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(table = "comments", name = "author_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User author;
     private LocalDateTime created;
 }
\ No newline at end of file
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.controller.Create;
 import ru.practicum.shareit.user.model.User;
@@ -19,11 +21,12 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = @Index(name = "items_owner_id_idx", columnList = "owner_id, id"))
 @Builder(toBuilder = true)
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Integer id;
     @NotBlank(groups = Create.class, message = "Имя не может быть пустым")
     private String name;
@@ -31,13 +34,19 @@ public class Item {
     private String description;
     @NotNull(groups = Create.class, message = "Введите статус для предмета")
     private Boolean available;
-    @ManyToOne
-    @JoinColumn(table = "items", name = "owner_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(table = "items", name = "owner_id", updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User owner;
     @OneToMany(mappedBy = "item")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Comment> comments = new ArrayList<>();
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(table = "items", name = "request_id", updatable = false)
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private ItemRequest itemRequest;
 }
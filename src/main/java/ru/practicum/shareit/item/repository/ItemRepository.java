@@ -2,15 +2,57 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
 public interface ItemRepository extends JpaRepository<Item, Integer> {
-    Page<Item> getAllByOwnerIdOrderById(Integer itemId, Pageable pageable);
+    @Query("SELECT i.id FROM Item AS i WHERE i.owner.id = :ownerId ORDER BY i.id")
+    List<Integer> findIdsByOwnerId(Integer ownerId, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item AS i WHERE i.owner.id = :ownerId AND i.id > :id ORDER BY i.id")
+    List<Integer> findIdsByOwnerIdAfter(Integer ownerId, Integer id, Pageable pageable);
+
+    Slice<Item> findAllByAvailableTrue(Pageable pageable);
+
+    @Query("SELECT DISTINCT i FROM Item AS i JOIN FETCH i.owner" +
+            " LEFT JOIN FETCH i.comments AS c LEFT JOIN FETCH c.author" +
+            " WHERE i.id = :id")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    Optional<Item> findWithCommentsById(Integer id);
+
+    @Query("SELECT DISTINCT i FROM Item AS i JOIN FETCH i.owner" +
+            " LEFT JOIN FETCH i.comments AS c LEFT JOIN FETCH c.author" +
+            " WHERE i.id IN :ids")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<Item> findAllWithCommentsByIdIn(Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT i FROM Item AS i" +
+            " LEFT JOIN FETCH i.comments AS c LEFT JOIN FETCH c.author" +
+            " WHERE i.itemRequest.id IN :requestIds" +
+            " ORDER BY i.id")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<Item> findAllWithCommentsByRequestIdIn(Collection<Integer> requestIds);
 
     @Query("SELECT i FROM Item AS i" +
             " WHERE i.available = true AND" +
-            " LOWER(CONCAT(i.description, i.name)) LIKE LOWER(CONCAT('%', :template, '%'))")
+            " (LOWER(i.name) LIKE LOWER(CONCAT('%', :template, '%')) OR" +
+            " LOWER(i.description) LIKE LOWER(CONCAT('%', :template, '%')))")
     Page<Item> getAllByTemplate(String template, Pageable pageable);
+
+    @Query(value = "SELECT * FROM items AS i" +
+            " WHERE i.available = true AND" +
+            " (i.name ILIKE CONCAT('%', :template, '%') OR i.description ILIKE CONCAT('%', :template, '%'))" +
+            " ORDER BY similarity(i.name, :template) DESC, i.id" +
+            " LIMIT :size OFFSET :from", nativeQuery = true)
+    List<Item> searchAvailableByTrigram(String template, int from, int size);
 }
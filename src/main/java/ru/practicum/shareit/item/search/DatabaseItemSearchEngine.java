@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.custom.CustomPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database")
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final boolean trigram;
+
+    public DatabaseItemSearchEngine(ItemRepository itemRepository,
+                                    @Value("${shareit.search.trigram:false}") boolean trigram) {
+        this.itemRepository = itemRepository;
+        this.trigram = trigram;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        if (trigram) {
+            return itemRepository.searchAvailableByTrigram(text, from, size);
+        }
+        return itemRepository.getAllByTemplate(text, new CustomPageRequest(from, size)).getContent();
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Integer itemId) {
+    }
+}
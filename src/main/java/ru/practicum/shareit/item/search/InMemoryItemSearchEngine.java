@@ -0,0 +1,163 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.custom.TransactionCallbacks;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index over item names and descriptions. Every token is stored with all of its suffixes,
+ * so a prefix lookup in the sorted term map finds any substring of a single word.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Comparator<Map.Entry<Integer, Integer>> RANKING =
+            Map.Entry.<Integer, Integer>comparingByValue().reversed()
+            .thenComparing(Map.Entry.comparingByKey());
+
+    private final ItemRepository itemRepository;
+    private final ConcurrentNavigableMap<String, Map<Integer, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Set<String>> itemTerms = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        postings.clear();
+        itemTerms.clear();
+        Pageable pageRequest = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+        Slice<Item> items;
+        do {
+            items = itemRepository.findAllByAvailableTrue(pageRequest);
+            items.forEach(this::addToIndex);
+            pageRequest = items.nextPageable();
+        } while (items.hasNext());
+        log.debug("Search index rebuilt: {} items, {} terms", itemTerms.size(), postings.size());
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        List<String> terms = SearchTokens.tokenize(text);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, Integer> scores = null;
+        for (String term : terms) {
+            Map<Integer, Integer> termScores = new HashMap<>();
+            postings.subMap(term, true, term + Character.MAX_VALUE, true).values()
+                    .forEach(posting -> posting.forEach((itemId, weight) ->
+                            termScores.merge(itemId, weight, Math::max)));
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((itemId, score) -> score + termScores.get(itemId));
+            }
+            if (scores.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+        List<Integer> itemIds = top(scores, from + size).stream()
+                .skip(from)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        Map<Integer, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        TransactionCallbacks.afterCommit(() -> reindex(item));
+    }
+
+    @Override
+    public void remove(Integer itemId) {
+        TransactionCallbacks.afterCommit(() -> removeFromIndex(itemId));
+    }
+
+    private synchronized void reindex(Item item) {
+        removeFromIndex(item.getId());
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            addToIndex(item);
+        }
+    }
+
+    private synchronized void addToIndex(Item item) {
+        Map<String, Integer> weights = new HashMap<>();
+        suffixes(item.getName()).forEach(term -> weights.put(term, NAME_WEIGHT));
+        suffixes(item.getDescription()).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>())
+                .put(item.getId(), weight));
+        itemTerms.put(item.getId(), weights.keySet());
+    }
+
+    private synchronized void removeFromIndex(Integer itemId) {
+        Set<String> terms = itemTerms.remove(itemId);
+        if (terms == null) {
+            return;
+        }
+        terms.forEach(term -> postings.computeIfPresent(term, (t, posting) -> {
+            posting.remove(itemId);
+            return posting.isEmpty() ? null : posting;
+        }));
+    }
+
+    /**
+     * The best {@code limit} scores, highest first and by item id among equal scores, kept in a heap
+     * of that size instead of sorting every match.
+     */
+    private static List<Map.Entry<Integer, Integer>> top(Map<Integer, Integer> scores, int limit) {
+        PriorityQueue<Map.Entry<Integer, Integer>> top = new PriorityQueue<>(RANKING.reversed());
+        for (Map.Entry<Integer, Integer> score : scores.entrySet()) {
+            top.add(score);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    private static Set<String> suffixes(String text) {
+        Set<String> suffixes = new HashSet<>();
+        for (String token : SearchTokens.tokenize(text)) {
+            for (int i = 0; i < token.length(); i++) {
+                suffixes.add(token.substring(i));
+            }
+        }
+        return suffixes;
+    }
+}
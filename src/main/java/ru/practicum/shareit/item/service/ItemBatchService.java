@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.Iterator;
+import java.util.List;
+
+public interface ItemBatchService {
+    List<ItemBatchResultDto> saveBatch(Integer userId, Iterator<ItemDto> items);
+}
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.view.OwnerBookingProjector;
+import ru.practicum.shareit.exception.MalformedRowException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.cache.UserCache;
+import ru.practicum.shareit.user.controller.Create;
+import ru.practicum.shareit.user.model.User;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Imports items in chunks, each in its own transaction. Rows are validated one by one, request ids and
+ * updated items of a chunk are loaded with one query each, and new items are written in JDBC batches.
+ * A row that cannot be read is rejected at its index; the rows read before a broken stream are still saved.
+ */
+@Slf4j
+@Service
+public class ItemBatchServiceImpl implements ItemBatchService {
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final UserCache userCache;
+    private final ItemSearchEngine itemSearchEngine;
+    private final OwnerBookingProjector ownerBookingProjector;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ItemBatchServiceImpl(ItemRepository itemRepository,
+                                RequestRepository requestRepository,
+                                UserCache userCache,
+                                ItemSearchEngine itemSearchEngine,
+                                OwnerBookingProjector ownerBookingProjector,
+                                Validator validator,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${shareit.item.batch.chunk-size:500}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.requestRepository = requestRepository;
+        this.userCache = userCache;
+        this.itemSearchEngine = itemSearchEngine;
+        this.ownerBookingProjector = ownerBookingProjector;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<ItemBatchResultDto> saveBatch(Integer userId, Iterator<ItemDto> items) {
+        User owner = userCache.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Нет пользователя с id =" + userId));
+        List<ItemBatchResultDto> results = new ArrayList<>();
+        List<ItemDto> chunk = new ArrayList<>(chunkSize);
+        while (items.hasNext()) {
+            ItemDto dto;
+            try {
+                dto = items.next();
+            } catch (MalformedRowException e) {
+                if (!chunk.isEmpty()) {
+                    results.addAll(saveChunk(owner, results.size(), chunk));
+                    chunk.clear();
+                }
+                ItemBatchResultDto result = ItemBatchResultDto.builder().index(results.size()).build();
+                reject(result, e.getMessage());
+                results.add(result);
+                if (e.isLast()) {
+                    break;
+                }
+                continue;
+            }
+            chunk.add(dto);
+            if (chunk.size() == chunkSize) {
+                results.addAll(saveChunk(owner, results.size(), chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(saveChunk(owner, results.size(), chunk));
+        }
+        log.debug("Batch of {} items saved for userId: {}", results.size(), userId);
+        return results;
+    }
+
+    private List<ItemBatchResultDto> saveChunk(User owner, int offset, List<ItemDto> chunk) {
+        return transactionTemplate.execute(status -> {
+            Map<Integer, ItemRequest> requests = findAllById(chunk.stream()
+                            .filter(dto -> dto.getId() == null)
+                            .map(ItemDto::getRequestId),
+                    requestRepository::findAllById, ItemRequest::getId);
+            Map<Integer, Item> existing = findAllById(chunk.stream().map(ItemDto::getId),
+                    itemRepository::findAllById, Item::getId);
+            List<ItemBatchResultDto> results = new ArrayList<>(chunk.size());
+            List<Item> created = new ArrayList<>();
+            List<Integer> createdRows = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                ItemDto dto = chunk.get(i);
+                ItemBatchResultDto result = ItemBatchResultDto.builder()
+                        .index(offset + i)
+                        .id(dto.getId())
+                        .build();
+                results.add(result);
+                if (dto.getId() != null) {
+                    update(dto, owner, existing.get(dto.getId()), result);
+                    continue;
+                }
+                String violations = validator.validate(dto, Create.class).stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining("; "));
+                ItemRequest request = dto.getRequestId() == null ? null : requests.get(dto.getRequestId());
+                if (!violations.isEmpty()) {
+                    reject(result, violations);
+                } else if (dto.getRequestId() != null && request == null) {
+                    reject(result, "Request not found " + dto.getRequestId());
+                } else {
+                    created.add(ItemMapper.INSTANCE.toItem(dto, owner, request));
+                    createdRows.add(i);
+                }
+            }
+            List<Item> saved = itemRepository.saveAll(created);
+            for (int i = 0; i < saved.size(); i++) {
+                Item item = saved.get(i);
+                ItemBatchResultDto result = results.get(createdRows.get(i));
+                result.setId(item.getId());
+                result.setStatus(ItemBatchResultDto.Status.CREATED);
+                itemSearchEngine.index(item);
+            }
+            return results;
+        });
+    }
+
+    private void update(ItemDto dto, User owner, Item item, ItemBatchResultDto result) {
+        if (item == null) {
+            reject(result, "Предмет с id:" + dto.getId() + " не найден");
+            return;
+        }
+        if (!item.getOwner().getId().equals(owner.getId())) {
+            reject(result, "Пользователь с id:" + owner.getId() + " не имеет права редактировать предмет");
+            return;
+        }
+        ItemServiceImpl.updateFields(ItemMapper.INSTANCE.toItem(dto, owner, null), item);
+        itemSearchEngine.index(item);
+        ownerBookingProjector.itemChanged(item);
+        result.setStatus(ItemBatchResultDto.Status.UPDATED);
+    }
+
+    /**
+     * Loads the entities with the non-null ids by id, without a query when there are none.
+     */
+    private static <T> Map<Integer, T> findAllById(Stream<Integer> ids,
+                                                   Function<Set<Integer>, List<T>> loader,
+                                                   Function<T, Integer> idGetter) {
+        Set<Integer> distinct = ids.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+        return loader.apply(distinct).stream().collect(Collectors.toMap(idGetter, Function.identity()));
+    }
+
+    private void reject(ItemBatchResultDto result, String error) {
+        result.setStatus(ItemBatchResultDto.Status.REJECTED);
+        result.setError(error);
+    }
+}
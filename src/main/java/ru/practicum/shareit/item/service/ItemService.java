@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
@@ -15,6 +16,8 @@ public interface ItemService {
 
     List<ItemResponseDto> findAllItems(Integer userId, int from, int size);
 
+    List<ItemResponseDto> findAllItems(Integer userId, PageCursor after, int size);
+
     void delete(Integer itemId, Integer userId);
 
     List<ItemDto> searchItem(Integer userId, String text, int from, int size);
@@ -2,12 +2,15 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.view.OwnerBookingProjector;
 import ru.practicum.shareit.custom.CustomPageRequest;
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnauthorizedException;
 import ru.practicum.shareit.exception.UnavailableItemException;
@@ -19,15 +22,21 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,36 +45,40 @@ import java.util.stream.Collectors;
 public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final BookingService bookingService;
     private final CommentRepository commentRepository;
     private final RequestService requestService;
+    private final ItemSearchEngine itemSearchEngine;
+    private final OwnerBookingProjector ownerBookingProjector;
 
     @Transactional
     @Override
     public Item create(ItemDto item, Integer userId) {
         log.debug("Create ItemDB: {}, userId: {}", item, userId);
-        userExistenceCheck(userId);
-        User user = userRepository.findById(userId).get();
+        User user = userExistenceCheck(userId);
         ItemRequest itemRequest = Optional.ofNullable(item.getRequestId())
                 .map(requestService::getRequestById)
                 .orElse(null);
         Item itemToDB = ItemMapper.INSTANCE.toItem(item, user, itemRequest);
-        return itemRepository.save(itemToDB);
+        Item savedItem = itemRepository.save(itemToDB);
+        itemSearchEngine.index(savedItem);
+        return savedItem;
     }
 
     @Transactional
     @Override
     public Item update(ItemDto item, Integer userId, Integer itemId) {
         log.debug("Update ItemDB: {}, userId: {}, itemId: {}", item, userId, itemId);
-        userExistenceCheck(userId);
+        User owner = userExistenceCheck(userId);
         Item existingItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Предмет с id:" + itemId + " не найден"));
         item.setId(itemId);
-        User owner = userRepository.findById(userId).get();
         Item itemToDB = ItemMapper.INSTANCE.toItem(item, owner, null);
         userAuthorizedCheck(itemToDB, userId);
         updateFields(itemToDB, existingItem);
+        itemSearchEngine.index(existingItem);
+        ownerBookingProjector.itemChanged(existingItem);
         return existingItem;
     }
 
@@ -73,18 +86,46 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemResponseDto> findAllItems(Integer userId, int from, int size) {
         userExistenceCheck(userId);
         Pageable pageRequest = new CustomPageRequest(from, size);
-        List<Item> items = itemRepository.getAllByOwnerIdOrderById(userId, pageRequest).getContent();
-        return items.stream()
+        List<Integer> itemIds = itemRepository.findIdsByOwnerId(userId, pageRequest);
+        return toItemResponseDtos(itemIds);
+    }
+
+    @Override
+    public List<ItemResponseDto> findAllItems(Integer userId, PageCursor after, int size) {
+        userExistenceCheck(userId);
+        List<Integer> itemIds = itemRepository.findIdsByOwnerIdAfter(userId, after.getId(), PageRequest.of(0, size));
+        return toItemResponseDtos(itemIds);
+    }
+
+    private List<ItemResponseDto> toItemResponseDtos(List<Integer> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, Booking> lastBookings = new HashMap<>();
+        Map<Integer, Booking> nextBookings = new HashMap<>();
+        Map<Integer, Item> itemsWithComments = itemRepository.findAllWithCommentsByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        bookingRepository.findLastAndNextByItemIds(itemIds, now).forEach(booking -> {
+            if (booking.getStart().isAfter(now)) {
+                nextBookings.put(booking.getItem().getId(), booking);
+            } else {
+                lastBookings.put(booking.getItem().getId(), booking);
+            }
+        });
+        return itemIds.stream()
+                .map(itemsWithComments::get)
+                .filter(Objects::nonNull)
                 .map(item -> ItemMapper.INSTANCE.toItemResponseDto(item,
-                        bookingService.getLastBookingByItem(item),
-                        bookingService.getNextBookingByItem(item)))
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId())))
                 .collect(Collectors.toList());
     }
 
     @Override
     public ItemResponseDto findItemByUserIdAndItemId(Integer itemId, Integer userId) {
         userExistenceCheck(userId);
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findWithCommentsById(itemId)
                 .orElseThrow(() -> new NotFoundException("Нет вещи с id = " + itemId));
         return ItemMapper.INSTANCE.toItemResponseDto(item,
                 item.getOwner().getId().equals(userId) ? bookingService.getLastBookingByItem(item) : null,
@@ -97,24 +138,23 @@ public class ItemServiceImpl implements ItemService {
         userAuthorizedCheck(itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Нет вещи с id = " + itemId)), userId);
         itemRepository.deleteById(itemId);
+        itemSearchEngine.remove(itemId);
     }
 
     public List<ItemDto> searchItem(Integer userId, String text, int from, int size) {
         userExistenceCheck(userId);
-        Pageable pageRequest = new CustomPageRequest(from, size);
-        List<Item> items = itemRepository.getAllByTemplate(text, pageRequest).getContent();
         if (text == null || text.isBlank()) {
             return new ArrayList<>();
         }
+        List<Item> items = itemSearchEngine.search(text, from, size);
         return items.stream()
                 .map(ItemMapper.INSTANCE::toItemDto)
                 .collect(Collectors.toList());
     }
 
-    private void userExistenceCheck(Integer userId) {
-        if (userRepository.findById(userId).isEmpty()) {
-            throw new NotFoundException("Нет пользователя с id =" + userId);
-        }
+    private User userExistenceCheck(Integer userId) {
+        return userCache.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Нет пользователя с id =" + userId));
     }
 
     private void userAuthorizedCheck(Item item, Integer userId) {
@@ -124,7 +164,7 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private void updateFields(Item item, Item itemToUpdate) {
+    static void updateFields(Item item, Item itemToUpdate) {
         Optional.ofNullable(item.getName())
                 .filter(name -> !name.isBlank())
                 .ifPresent(itemToUpdate::setName);
@@ -141,8 +181,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public Comment saveComment(Integer itemId, CommentCreateDto commentCreateDto, Integer userId) {
         log.debug("Create Comment: {}, itemId: {}, userId: {}", commentCreateDto, itemId, userId);
-        userExistenceCheck(userId);
-        User author = userRepository.findById(userId).get();
+        User author = userExistenceCheck(userId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Нет вещи с id = " + itemId));
         Comment comment = ItemMapper.INSTANCE.toComment(commentCreateDto, author, item);
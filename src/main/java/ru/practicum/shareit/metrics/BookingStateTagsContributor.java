@@ -0,0 +1,65 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+
+/**
+ * Adds the booking {@code state} to request timers, so each branch of the booking lists gets its
+ * own latency series. Unknown values share one tag to keep the series count fixed.
+ */
+@Component
+public class BookingStateTagsContributor implements WebMvcTagsContributor {
+    static final String STATE_PARAMETER = "state";
+    static final String NONE = "none";
+    static final String INVALID = "INVALID";
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 Throwable exception) {
+        return Tags.of(STATE_PARAMETER, state(request, handler));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.of(STATE_PARAMETER, state(request, handler));
+    }
+
+    private static String state(HttpServletRequest request, Object handler) {
+        String state = request.getParameter(STATE_PARAMETER);
+        if (state == null) {
+            state = defaultState(handler);
+        }
+        if (state == null) {
+            return NONE;
+        }
+        String value = state;
+        return Arrays.stream(BookingState.values())
+                .map(Enum::name)
+                .filter(name -> name.equals(value))
+                .findFirst()
+                .orElse(INVALID);
+    }
+
+    private static String defaultState(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return null;
+        }
+        for (MethodParameter parameter : ((HandlerMethod) handler).getMethodParameters()) {
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            if (requestParam != null && STATE_PARAMETER.equals(requestParam.value())) {
+                return requestParam.defaultValue();
+            }
+        }
+        return null;
+    }
+}
@@ -6,13 +6,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.constants.Constants;
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.request.mapper.RequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.RequestService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
@@ -55,13 +59,37 @@ public class ItemRequestController {
                                                          Integer from,
                                                          @Positive
                                                          @RequestParam(name = "size", defaultValue = Constants.SIZE_DEFAULT)
-                                                             Integer size) {
+                                                             Integer size,
+                                                         @RequestParam(name = "after", required = false) String after,
+                                                         HttpServletResponse response) {
         log.debug("Получен GET запрос к эндпоинту: '/requests/all', Строка параметра запроса для userId={} from={} size={}", userId, from, size);
-        return requestService.getAllAlien(userId, from, size).stream()
+        List<ItemRequest> requests = after == null
+                ? requestService.getAllAlien(userId, from, size)
+                : requestService.getAllAlien(userId, PageCursor.decode(after), size);
+        if (requests.size() == size) {
+            ItemRequest last = requests.get(requests.size() - 1);
+            response.setHeader(Constants.NEXT_CURSOR, new PageCursor(last.getCreated(), last.getId()).encode());
+        }
+        return requests.stream()
                 .map(RequestMapper.INSTANCE::toRequestDto)
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/matches")
+    @ResponseStatus(HttpStatus.OK)
+    public List<RequestMatchDto> getMatches(@RequestHeader(Constants.SHARER_USER_ID) Integer userId,
+                                            @PositiveOrZero
+                                            @RequestParam(name = "from", defaultValue = Constants.FROM_DEFAULT)
+                                            Integer from,
+                                            @Positive
+                                            @RequestParam(name = "size", defaultValue = Constants.SIZE_DEFAULT)
+                                            Integer size) {
+        log.debug("Получен GET запрос к эндпоинту: '/requests/matches', Строка параметра запроса для userId={} from={} size={}", userId, from, size);
+        return requestService.getMatchesByOwner(userId, from, size).stream()
+                .map(RequestMapper.INSTANCE::toRequestMatchDto)
+                .collect(Collectors.toList());
+    }
+
     @GetMapping("/{requestId}")
     @ResponseStatus(HttpStatus.OK)
     public ItemRequestResponseDto getRequestById(@RequestHeader(Constants.SHARER_USER_ID) Integer userId,
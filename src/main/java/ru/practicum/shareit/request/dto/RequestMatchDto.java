@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+public class RequestMatchDto {
+    private Integer requestId;
+    private Integer itemId;
+    private Integer score;
+    private LocalDateTime created;
+}
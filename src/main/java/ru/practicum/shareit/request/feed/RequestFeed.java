@@ -0,0 +1,187 @@
+package ru.practicum.shareit.request.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.custom.TransactionCallbacks;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
+import ru.practicum.shareit.request.repository.RequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ring buffer of the most recent requests, newest first, shared by the feeds of all users. It is
+ * loaded from the database on first use and appended to after a request is committed. A page is
+ * served from the buffer by skipping the reader's own requests; a page that runs past the oldest
+ * entry is left to the database unless the buffer holds every request.
+ */
+@Slf4j
+@Component
+public class RequestFeed {
+    private final RequestRepository requestRepository;
+    private final Entry[] entries;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int head;
+    private int size;
+    private boolean loaded;
+    private boolean complete;
+
+    public RequestFeed(RequestRepository requestRepository,
+                       @Value("${shareit.request.feed.capacity:1000}") int capacity) {
+        this.requestRepository = requestRepository;
+        this.entries = new Entry[capacity];
+    }
+
+    /**
+     * Ids of the requests on an offset page of the user's feed, or empty if the buffer does not cover it.
+     */
+    public Optional<List<Integer>> findAlien(Integer userId, int from, int size) {
+        load();
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>(size);
+            int skipped = 0;
+            for (int i = 0; i < this.size && ids.size() < size; i++) {
+                Entry entry = at(i);
+                if (entry.requesterId.equals(userId)) {
+                    continue;
+                }
+                if (skipped < from) {
+                    skipped++;
+                } else {
+                    ids.add(entry.id);
+                }
+            }
+            return ids.size() == size || complete ? Optional.of(ids) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the requests following the cursor in the user's feed, or empty if the buffer does not cover them.
+     */
+    public Optional<List<Integer>> findAlienAfter(Integer userId, LocalDateTime created, Integer id, int size) {
+        load();
+        lock.readLock().lock();
+        try {
+            Entry cursor = new Entry(id, created, null);
+            List<Integer> ids = new ArrayList<>(size);
+            for (int i = 0; i < this.size && ids.size() < size; i++) {
+                Entry entry = at(i);
+                if (cursor.isAfter(entry) && !entry.requesterId.equals(userId)) {
+                    ids.add(entry.id);
+                }
+            }
+            return ids.size() == size || complete ? Optional.of(ids) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(ItemRequest request) {
+        Entry entry = new Entry(request.getId(), request.getCreated(), request.getRequester().getId());
+        TransactionCallbacks.afterCommit(() -> insert(entry));
+    }
+
+    private void load() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<ItemRequestSummary> recent = requestRepository.findRecent(PageRequest.of(0, entries.length));
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                ItemRequestSummary summary = recent.get(i);
+                insertLocked(new Entry(summary.getId(), summary.getCreated(), summary.getRequesterId()));
+            }
+            complete = recent.size() < entries.length;
+            loaded = true;
+            log.debug("Request feed loaded: {} requests, complete: {}", size, complete);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                insertLocked(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Requests usually commit in creation order, so the new entry goes to the head; one that commits
+     * late is moved down past the newer entries, and the oldest entry drops off when the buffer is full.
+     */
+    private void insertLocked(Entry entry) {
+        int position = 0;
+        while (position < size && at(position).isAfter(entry)) {
+            position++;
+        }
+        if (position < size && at(position).id.equals(entry.id)) {
+            return;
+        }
+        if (position == entries.length) {
+            complete = false;
+            return;
+        }
+        if (size == entries.length) {
+            complete = false;
+        } else {
+            size++;
+        }
+        head = Math.floorMod(head - 1, entries.length);
+        for (int i = 0; i < position; i++) {
+            entries[index(i)] = entries[index(i + 1)];
+        }
+        entries[index(position)] = entry;
+    }
+
+    private Entry at(int i) {
+        return entries[index(i)];
+    }
+
+    private int index(int i) {
+        return (head + i) % entries.length;
+    }
+
+    private static class Entry {
+        private final Integer id;
+        private final LocalDateTime created;
+        private final Integer requesterId;
+
+        Entry(Integer id, LocalDateTime created, Integer requesterId) {
+            this.id = id;
+            this.created = created;
+            this.requesterId = requesterId;
+        }
+
+        /**
+         * Newer entries come first, the same order as created DESC, id DESC.
+         */
+        boolean isAfter(Entry other) {
+            int byCreated = created.compareTo(other.created);
+            return byCreated > 0 || byCreated == 0 && id > other.id;
+        }
+    }
+}
@@ -7,7 +7,9 @@ import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
@@ -30,6 +32,8 @@ public interface RequestMapper {
     @Mapping(target = "items", expression = "java(getItemResponse(itemRequest))")
     ItemRequestResponseDto toRequestDto(ItemRequest itemRequest);
 
+    RequestMatchDto toRequestMatchDto(RequestMatch requestMatch);
+
 
     default List<ItemResponseDto> getItemResponse(ItemRequest itemRequest) {
         List<ItemResponseDto> items = null;
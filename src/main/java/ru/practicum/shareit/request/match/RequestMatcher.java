@@ -0,0 +1,128 @@
+package ru.practicum.shareit.request.match;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.custom.TransactionCallbacks;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchTokens;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
+import ru.practicum.shareit.request.repository.RequestMatchRepository;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Matches the description of a new request against the search index once the request is committed and
+ * stores the best items for their owners. Matching runs on a small pool with a bounded queue, so a burst
+ * of requests never holds up the request thread; when the queue is full the request is left unmatched.
+ */
+@Slf4j
+@Component
+public class RequestMatcher {
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int MAX_TOKENS = 20;
+
+    private final ItemSearchEngine itemSearchEngine;
+    private final RequestMatchRepository requestMatchRepository;
+    private final int maxMatches;
+    private final Executor executor;
+
+    @Autowired
+    public RequestMatcher(ItemSearchEngine itemSearchEngine,
+                          RequestMatchRepository requestMatchRepository,
+                          @Value("${shareit.request.match.threads:2}") int threads,
+                          @Value("${shareit.request.match.queue-capacity:1000}") int queueCapacity,
+                          @Value("${shareit.request.match.max-matches:20}") int maxMatches) {
+        this(itemSearchEngine, requestMatchRepository, maxMatches, newExecutor(threads, queueCapacity));
+    }
+
+    RequestMatcher(ItemSearchEngine itemSearchEngine, RequestMatchRepository requestMatchRepository,
+                   int maxMatches, Executor executor) {
+        this.itemSearchEngine = itemSearchEngine;
+        this.requestMatchRepository = requestMatchRepository;
+        this.maxMatches = maxMatches;
+        this.executor = executor;
+    }
+
+    public void match(ItemRequest request) {
+        Integer requestId = request.getId();
+        String description = request.getDescription();
+        Integer requesterId = request.getRequester().getId();
+        TransactionCallbacks.afterCommit(() -> executor.execute(() -> {
+            try {
+                match(requestId, description, requesterId);
+            } catch (RuntimeException e) {
+                log.warn("Request {} not matched", requestId, e);
+            }
+        }));
+    }
+
+    /**
+     * Every token of the description is searched on its own, and an item scores one point per token it
+     * matches, so items that share more words with the request come first.
+     */
+    List<RequestMatch> match(Integer requestId, String description, Integer requesterId) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        Map<Integer, Integer> owners = new HashMap<>();
+        SearchTokens.tokenize(description).stream()
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .limit(MAX_TOKENS)
+                .forEach(token -> itemSearchEngine.search(token, 0, maxMatches).stream()
+                        .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                        .filter(item -> !item.getOwner().getId().equals(requesterId))
+                        .forEach(item -> {
+                            scores.merge(item.getId(), 1, Integer::sum);
+                            owners.put(item.getId(), item.getOwner().getId());
+                        }));
+        LocalDateTime created = LocalDateTime.now();
+        List<RequestMatch> matches = scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxMatches)
+                .map(entry -> RequestMatch.builder()
+                        .requestId(requestId)
+                        .itemId(entry.getKey())
+                        .ownerId(owners.get(entry.getKey()))
+                        .score(entry.getValue())
+                        .created(created)
+                        .build())
+                .collect(Collectors.toList());
+        if (!matches.isEmpty()) {
+            requestMatchRepository.saveAll(matches);
+        }
+        log.debug("Request {} matched {} items", requestId, matches.size());
+        return matches;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private static ExecutorService newExecutor(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "request-matcher-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> log.warn("Request matcher queue is full, request left unmatched"));
+    }
+}
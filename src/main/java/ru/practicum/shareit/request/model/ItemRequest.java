@@ -3,7 +3,9 @@ package ru.practicum.shareit.request.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -14,20 +16,26 @@ import java.util.List;
 
 @Data
 @Entity
+@NamedEntityGraph(name = "ItemRequest.withRequester", attributeNodes = @NamedAttributeNode("requester"))
 @Table(name = "requests")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Integer id;
     @NotBlank
     private String description;
     private LocalDateTime created;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(table = "requests", name = "requester_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User requester;
     @OneToMany(mappedBy = "itemRequest")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Item> items;
 }
\ No newline at end of file
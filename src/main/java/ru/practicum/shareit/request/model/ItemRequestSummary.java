@@ -0,0 +1,11 @@
+package ru.practicum.shareit.request.model;
+
+import java.time.LocalDateTime;
+
+public interface ItemRequestSummary {
+    Integer getId();
+
+    LocalDateTime getCreated();
+
+    Integer getRequesterId();
+}
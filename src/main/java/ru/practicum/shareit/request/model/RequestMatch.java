@@ -0,0 +1,38 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An available item that matched the description of a request, stored for the item's owner to poll.
+ */
+@Data
+@Entity
+@Table(name = "request_matches", indexes = @Index(name = "request_matches_owner_created_idx",
+        columnList = "owner_id, created DESC, id DESC"),
+        uniqueConstraints = @UniqueConstraint(name = "request_matches_request_item_key",
+                columnNames = {"request_id", "item_id"}))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class RequestMatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_matches_seq")
+    @SequenceGenerator(name = "request_matches_seq", sequenceName = "request_matches_seq", allocationSize = 50)
+    private Integer id;
+    @Column(name = "request_id", nullable = false)
+    private Integer requestId;
+    @Column(name = "item_id", nullable = false)
+    private Integer itemId;
+    @Column(name = "owner_id", nullable = false)
+    private Integer ownerId;
+    @Column(nullable = false)
+    private Integer score;
+    @Column(nullable = false)
+    private LocalDateTime created;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.request.model.RequestMatch;
+
+import java.util.List;
+
+public interface RequestMatchRepository extends JpaRepository<RequestMatch, Integer> {
+    List<RequestMatch> findAllByOwnerIdOrderByCreatedDescIdDesc(Integer ownerId, Pageable pageable);
+}
@@ -1,18 +1,40 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RequestRepository extends JpaRepository<ItemRequest, Integer> {
+    @EntityGraph("ItemRequest.withRequester")
+    Optional<ItemRequest> findWithRequesterById(Integer id);
+
+    @EntityGraph("ItemRequest.withRequester")
+    List<ItemRequest> findAllWithRequesterByIdIn(Collection<Integer> ids);
+
+    @Query("SELECT r.id AS id, r.created AS created, r.requester.id AS requesterId FROM ItemRequest AS r" +
+            " ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequestSummary> findRecent(Pageable pageable);
+
+    @EntityGraph("ItemRequest.withRequester")
     List<ItemRequest> findAllByRequesterOrderByCreatedDesc(User requester);
 
+    @EntityGraph("ItemRequest.withRequester")
     @Query("SELECT r FROM ItemRequest AS r WHERE r.requester.id <> :requesterId " +
-            "ORDER BY r.created DESC")
-    Page<ItemRequest> findAllAlien(Integer requesterId, Pageable pageable);
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findAllAlien(Integer requesterId, Pageable pageable);
+
+    @EntityGraph("ItemRequest.withRequester")
+    @Query("SELECT r FROM ItemRequest AS r WHERE r.requester.id <> :requesterId AND" +
+            " (r.created < :created OR r.created = :created AND r.id < :id)" +
+            " ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findAllAlienAfter(Integer requesterId, LocalDateTime created, Integer id, Pageable pageable);
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
 
 import java.util.List;
 
@@ -12,5 +14,9 @@ public interface RequestService {
 
     List<ItemRequest> getAllAlien(Integer userId, int from, int size);
 
+    List<ItemRequest> getAllAlien(Integer userId, PageCursor after, int size);
+
     ItemRequest getRequestById(Integer requestId);
+
+    List<RequestMatch> getMatchesByOwner(Integer userId, int from, int size);
 }
\ No newline at end of file
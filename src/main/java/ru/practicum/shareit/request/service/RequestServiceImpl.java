@@ -2,26 +2,43 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.custom.CustomPageRequest;
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.feed.RequestFeed;
 import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
+import ru.practicum.shareit.request.repository.RequestMatchRepository;
 import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RequestServiceImpl implements RequestService {
     private final RequestRepository requestRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final ItemRepository itemRepository;
+    private final RequestFeed requestFeed;
+    private final RequestMatcher requestMatcher;
+    private final RequestMatchRepository requestMatchRepository;
 
     @Transactional
     @Override
@@ -29,38 +46,98 @@ public class RequestServiceImpl implements RequestService {
         User register = getUserFromDB(userId);
         ItemRequest itemRequestToDB = RequestMapper.INSTANCE.toRequest(itemRequest, register);
         requestRepository.save(itemRequestToDB);
+        requestFeed.add(itemRequestToDB);
+        requestMatcher.match(itemRequestToDB);
         log.debug("Saved request to DB: {}", itemRequestToDB);
         return itemRequestToDB;
     }
 
+    @Transactional
     @Override
     public List<ItemRequest> getAllByRequester(Integer userId) {
         User requester = getUserFromDB(userId);
         List<ItemRequest> requests = requestRepository.findAllByRequesterOrderByCreatedDesc(requester);
+        attachItems(requests);
         log.debug("Requests by userId={}: {}", requester.getId(), requests);
         return requests;
     }
 
+    @Transactional
     @Override
     public List<ItemRequest> getAllAlien(Integer userId, int from, int size) {
         User requester = getUserFromDB(userId);
         Pageable pageRequest = new CustomPageRequest(from, size);
-        List<ItemRequest> requests = requestRepository.findAllAlien(requester.getId(), pageRequest).getContent();
+        List<ItemRequest> requests = requestFeed.findAlien(requester.getId(), from, size)
+                .map(this::findAllByIdInOrder)
+                .orElseGet(() -> requestRepository.findAllAlien(requester.getId(), pageRequest));
+        attachItems(requests);
         log.debug("Requests for userId={}: {}", requester.getId(), requests);
         return requests;
     }
 
+    @Transactional
+    @Override
+    public List<ItemRequest> getAllAlien(Integer userId, PageCursor after, int size) {
+        User requester = getUserFromDB(userId);
+        List<ItemRequest> requests = requestFeed.findAlienAfter(requester.getId(), after.getTime(), after.getId(), size)
+                .map(this::findAllByIdInOrder)
+                .orElseGet(() -> requestRepository.findAllAlienAfter(requester.getId(), after.getTime(),
+                        after.getId(), PageRequest.of(0, size)));
+        attachItems(requests);
+        log.debug("Requests for userId={} after id={}: {}", requester.getId(), after.getId(), requests);
+        return requests;
+    }
+
+    @Transactional
     @Override
     public ItemRequest getRequestById(Integer requestId) {
-        ItemRequest request = requestRepository.findById(requestId).orElseThrow(() -> {
+        ItemRequest request = requestRepository.findWithRequesterById(requestId).orElseThrow(() -> {
             throw new NotFoundException("Request not found " + requestId);
         });
+        attachItems(List.of(request));
         log.debug("Returned request: {}", request);
         return request;
     }
 
+    @Override
+    public List<RequestMatch> getMatchesByOwner(Integer userId, int from, int size) {
+        User owner = getUserFromDB(userId);
+        List<RequestMatch> matches = requestMatchRepository.findAllByOwnerIdOrderByCreatedDescIdDesc(owner.getId(),
+                new CustomPageRequest(from, size));
+        log.debug("Request matches for ownerId={}: {}", owner.getId(), matches);
+        return matches;
+    }
+
+    private List<ItemRequest> findAllByIdInOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, ItemRequest> requests = requestRepository.findAllWithRequesterByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        return ids.stream()
+                .map(requests::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Requests are mapped after the transaction ends, so the items of all requests and their comments are
+     * loaded here with one query and grouped by request. Items are the inverse side of the association,
+     * so replacing the lazy collection does not write anything.
+     */
+    private void attachItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<Item>> items = itemRepository.findAllWithCommentsByRequestIdIn(requests.stream()
+                        .map(ItemRequest::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(item -> item.getItemRequest().getId()));
+        requests.forEach(request -> request.setItems(items.getOrDefault(request.getId(), new ArrayList<>())));
+    }
+
     private User getUserFromDB(Integer userId) {
-        return userRepository.findById(userId).orElseThrow(() -> {
+        return userCache.findById(userId).orElseThrow(() -> {
             throw new NotFoundException("Пользователь с не найден userId: " + userId);
         });
     }
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.user.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.custom.LruMap;
+import ru.practicum.shareit.custom.TransactionCallbacks;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Detached id/name/email snapshots of known users, so validating the sharer header does not hit
+ * the database on every request. Entries expire after a fixed time; absent users are not cached.
+ * Snapshots can be used as references when persisting, but not for changing the user itself.
+ */
+@Component
+public class UserCache {
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final Map<Integer, Entry> entries;
+
+    @Autowired
+    public UserCache(UserRepository userRepository,
+                     @Value("${shareit.user-cache.ttl:5m}") Duration ttl,
+                     @Value("${shareit.user-cache.max-size:10000}") int maxSize) {
+        this(userRepository, ttl, maxSize, System::nanoTime);
+    }
+
+    UserCache(UserRepository userRepository, Duration ttl, int maxSize, LongSupplier ticker) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.entries = Collections.synchronizedMap(new LruMap<>(maxSize));
+    }
+
+    public Optional<User> findById(Integer userId) {
+        long now = ticker.getAsLong();
+        Entry entry = entries.get(userId);
+        if (entry == null || now - entry.loadedAt >= ttlNanos) {
+            Optional<User> user = userRepository.findById(userId).map(UserCache::snapshot);
+            if (user.isEmpty()) {
+                entries.remove(userId);
+                return Optional.empty();
+            }
+            entry = new Entry(user.get(), now);
+            entries.put(userId, entry);
+        }
+        return Optional.of(snapshot(entry.user));
+    }
+
+    /**
+     * Drops the entry now and again when the current transaction ends, so a read made before
+     * commit or rollback cannot leave a stale snapshot behind.
+     */
+    public void invalidate(Integer userId) {
+        entries.remove(userId);
+        TransactionCallbacks.afterCompletion(() -> entries.remove(userId));
+    }
+
+    private static User snapshot(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .build();
+    }
+
+    private static class Entry {
+        private final User user;
+        private final long loadedAt;
+
+        private Entry(User user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
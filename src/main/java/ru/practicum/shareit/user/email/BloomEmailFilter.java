@@ -0,0 +1,100 @@
+package ru.practicum.shareit.user.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over every email ever seen. Emails are never removed, so a changed or deleted
+ * address only turns into a false positive that the database check resolves.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.user.email-filter.type", havingValue = "bloom")
+public class BloomEmailFilter implements EmailFilter {
+    private static final int WARM_UP_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomEmailFilter(UserRepository userRepository,
+                            @Value("${shareit.user.email-filter.expected-emails:100000}") long expectedEmails,
+                            @Value("${shareit.user.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        long optimalBits = (long) Math.ceil(-expectedEmails * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((Math.max(optimalBits, Long.SIZE) + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) bits.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEmails * Math.log(2)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Pageable pageRequest = PageRequest.of(0, WARM_UP_BATCH_SIZE, Sort.by("id"));
+        Slice<String> emails;
+        long count = 0;
+        do {
+            emails = userRepository.findAllEmails(pageRequest);
+            emails.forEach(this::add);
+            count += emails.getNumberOfElements();
+            pageRequest = emails.nextPageable();
+        } while (emails.hasNext());
+        log.debug("Email filter warmed up: {} emails, {} bits, {} hashes", count, bitCount, hashCount);
+    }
+
+    @Override
+    public boolean mightContain(String email) {
+        if (email == null) {
+            return false;
+        }
+        long hash = hash(email);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(first + (long) i * second, bitCount);
+            if ((bits.get((int) (bit / Long.SIZE)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        long hash = hash(email);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(first + (long) i * second, bitCount);
+            long mask = 1L << bit;
+            bits.getAndUpdate((int) (bit / Long.SIZE), word -> word | mask);
+        }
+    }
+
+    private static long hash(String email) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
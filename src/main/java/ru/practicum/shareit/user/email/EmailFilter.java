@@ -0,0 +1,11 @@
+package ru.practicum.shareit.user.email;
+
+/**
+ * Pre-check for email uniqueness. A negative answer is definite; a positive one has to be
+ * confirmed against the database.
+ */
+public interface EmailFilter {
+    boolean mightContain(String email);
+
+    void add(String email);
+}
@@ -3,7 +3,9 @@ package ru.practicum.shareit.user.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.controller.Create;
@@ -23,7 +25,8 @@ import java.util.List;
 @Builder(toBuilder = true)
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Integer id;
     @NotBlank(groups = Create.class, message = "Имя не должно быть пустым")
     private String name;
@@ -32,7 +35,11 @@ public class User {
     @Column(unique = true)
     private String email;
     @OneToMany(mappedBy = "owner")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Item> items = new ArrayList<>();
     @OneToMany(mappedBy = "author")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Comment> comments = new ArrayList<>();
 }
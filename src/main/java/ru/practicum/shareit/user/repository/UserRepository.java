@@ -1,7 +1,14 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
+    boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM users AS u")
+    Slice<String> findAllEmails(Pageable pageable);
 }
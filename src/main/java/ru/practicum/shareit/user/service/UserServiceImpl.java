@@ -4,9 +4,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.view.OwnerBookingProjector;
 import ru.practicum.shareit.exception.DuplicateException;
 import ru.practicum.shareit.exception.EmailNotUniqueException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.cache.UserCache;
+import ru.practicum.shareit.user.email.EmailFilter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -19,13 +22,19 @@ import java.util.Optional;
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final EmailFilter emailFilter;
+    private final OwnerBookingProjector ownerBookingProjector;
 
     @Transactional
     @Override
     public User create(User user) {
         log.debug("Create User: {}", user);
         try {
-            return userRepository.save(user);
+            User savedUser = userRepository.saveAndFlush(user);
+            userCache.invalidate(savedUser.getId());
+            emailFilter.add(savedUser.getEmail());
+            return savedUser;
         } catch (DataIntegrityViolationException e) {
             throw new EmailNotUniqueException("Email should be unique");
         }
@@ -33,8 +42,8 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User findById(Integer userId) {
-        userExistenceCheck(userId);
-        return userRepository.findById(userId).get();
+        return userCache.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Нет пользователя с id = " + userId));
     }
 
     @Override
@@ -46,18 +55,25 @@ public class UserServiceImpl implements UserService {
     @Override
     public User update(User user, Integer userId) {
         log.debug("Update User: {}, userId: {}", user, userId);
-        userExistenceCheck(userId);
-        User userToUpdate = userRepository.findById(userId).get();
+        User userToUpdate = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Нет пользователя с id = " + userId));
+        userCache.invalidate(userId);
         Optional.ofNullable(user.getEmail())
                 .filter(email -> !email.equals(userToUpdate.getEmail()) && !email.isBlank())
                 .ifPresent(email -> {
                     validationEmail(user);
                     userToUpdate.setEmail(email);
+                    emailFilter.add(email);
                 });
         Optional.ofNullable(user.getName())
                 .filter(name -> !name.isBlank())
                 .ifPresent(userToUpdate::setName);
-
+        try {
+            userRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new EmailNotUniqueException("Email should be unique");
+        }
+        ownerBookingProjector.userChanged(userToUpdate);
         return userToUpdate;
     }
 
@@ -65,21 +81,13 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delete(Integer userId) {
         userRepository.deleteById(userId);
-    }
-
-    private void userExistenceCheck(Integer id) {
-        if (userRepository.findById(id).isEmpty()) {
-            throw new NotFoundException("Нет пользователя с id = " + id);
-        }
+        userCache.invalidate(userId);
     }
 
     public void validationEmail(User user) {
         String userEmail = user.getEmail();
 
-        boolean isEmailValid = userRepository.findAll().stream()
-                .noneMatch(existingUser -> existingUser.getEmail().equals(userEmail));
-
-        if (!isEmailValid) {
+        if (emailFilter.mightContain(userEmail) && userRepository.existsByEmail(userEmail)) {
             throw new DuplicateException("Такой адрес электронной почты уже используется: " + userEmail);
         }
     }
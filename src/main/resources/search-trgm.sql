@@ -0,0 +1,7 @@
+-- Trigram indexes for shareit.search.trigram=true. CREATE EXTENSION needs a superuser, or on
+-- PostgreSQL 13+ any role with CREATE on the database, so a DBA installs pg_trgm beforehand and
+-- this script only finds it in place. Run it by adding it to spring.sql.init.schema-locations.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING GIN (description gin_trgm_ops);
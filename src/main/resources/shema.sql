@@ -1,44 +1,65 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS request_matches_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS booking_outbox_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
-     id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+     id BIGINT DEFAULT nextval('users_seq') NOT NULL,
      name VARCHAR(255) NOT NULL,
      email VARCHAR(255) NOT NULL,
      PRIMARY KEY (id),
      CONSTRAINT unique_email UNIQUE (email)
 );
 
+CREATE TABLE IF NOT EXISTS requests (
+    id BIGINT DEFAULT nextval('requests_seq') NOT NULL,
+    description TEXT,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    requester_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    FOREIGN KEY (requester_id) REFERENCES users(id)
+);
+
 CREATE TABLE IF NOT EXISTS items (
-     id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+     id BIGINT DEFAULT nextval('items_seq') NOT NULL,
      name VARCHAR(255) NOT NULL,
      description TEXT,
      available BOOLEAN NOT NULL,
      owner_id BIGINT NOT NULL,
+     request_id BIGINT,
      PRIMARY KEY (id),
-     FOREIGN KEY (owner_id) REFERENCES users(id)
+     FOREIGN KEY (owner_id) REFERENCES users(id),
      FOREIGN KEY (request_id) REFERENCES requests(id)
 );
 
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id, id);
+
 CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    id BIGINT DEFAULT nextval('bookings_seq') NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id BIGINT NOT NULL,
     booker_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
     status VARCHAR(255) NOT NULL,
+    version INTEGER DEFAULT 0 NOT NULL,
     PRIMARY KEY (id),
     FOREIGN KEY (item_id) REFERENCES  items(id),
-    FOREIGN KEY (booker_id) REFERENCES  users(id)
+    FOREIGN KEY (booker_id) REFERENCES  users(id),
+    FOREIGN KEY (owner_id) REFERENCES  users(id)
 );
 
-CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
-    description TEXT,
-    requester_id BIGINT NOT NULL,
-    PRIMARY KEY (id),
-    FOREIGN KEY (requester_id) REFERENCES users(id)
-);
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx ON bookings (booker_id, status, start_date);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS bookings_owner_export_idx ON bookings (owner_id, start_date DESC, id DESC);
 
 CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    id BIGINT DEFAULT nextval('comments_seq') NOT NULL,
     text TEXT NOT NULL,
     item_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
@@ -46,4 +67,59 @@ CREATE TABLE IF NOT EXISTS comments (
     PRIMARY KEY (id),
     FOREIGN KEY (item_id) REFERENCES  items(id),
     FOREIGN KEY (author_id) REFERENCES users(id)
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS request_matches (
+    id BIGINT DEFAULT nextval('request_matches_seq') NOT NULL,
+    request_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    score INTEGER NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT request_matches_request_item_key UNIQUE (request_id, item_id),
+    FOREIGN KEY (request_id) REFERENCES requests(id),
+    FOREIGN KEY (item_id) REFERENCES items(id),
+    FOREIGN KEY (owner_id) REFERENCES users(id)
+);
+
+CREATE INDEX IF NOT EXISTS request_matches_owner_created_idx ON request_matches (owner_id, created DESC, id DESC);
+
+CREATE TABLE IF NOT EXISTS booking_outbox (
+    id BIGINT DEFAULT nextval('booking_outbox_seq') NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    booking_version INTEGER NOT NULL,
+    item_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    previous_status VARCHAR(255),
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS owner_booking_view (
+    booking_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    item_id BIGINT NOT NULL,
+    item_name VARCHAR(255) NOT NULL,
+    item_description TEXT,
+    item_available BOOLEAN NOT NULL,
+    booker_id BIGINT NOT NULL,
+    booker_name VARCHAR(255) NOT NULL,
+    booker_email VARCHAR(255) NOT NULL,
+    PRIMARY KEY (booking_id)
+);
+
+CREATE INDEX IF NOT EXISTS owner_booking_view_owner_start_idx
+    ON owner_booking_view (owner_id, start_date DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS owner_booking_view_owner_status_start_idx
+    ON owner_booking_view (owner_id, status, start_date DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS owner_booking_view_item_idx ON owner_booking_view (item_id);
+CREATE INDEX IF NOT EXISTS owner_booking_view_booker_idx ON owner_booking_view (booker_id);
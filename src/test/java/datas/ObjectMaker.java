@@ -106,6 +106,7 @@ public class ObjectMaker {
                 .status(status)
                 .item(item)
                 .booker(booker)
+                .ownerId(item == null || item.getOwner() == null ? null : item.getOwner().getId())
                 .build();
     }
 
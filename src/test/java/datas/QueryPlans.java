@@ -0,0 +1,118 @@
+package datas;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.internal.ast.ASTQueryTranslatorFactory;
+import org.hibernate.hql.spi.NamedParameterInformation;
+import org.hibernate.hql.spi.QueryTranslator;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Explains the query declared on a repository method the way the database receives it: JPQL is translated
+ * to SQL by Hibernate, native SQL is used as is, and named parameters are bound from the given values.
+ */
+public class QueryPlans {
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+
+    private QueryPlans() {
+    }
+
+    public static Method method(Class<?> repository, String name, Class<?>... parameterTypes) {
+        try {
+            return repository.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public static String explain(EntityManager em, Method method, Map<String, Object> parameters) {
+        Query query = method.getAnnotation(Query.class);
+        if (query == null) {
+            throw new IllegalArgumentException(method.getName() + " has no @Query");
+        }
+        Map<Integer, Object> values = new TreeMap<>();
+        String sql = query.nativeQuery()
+                ? bindNative(query.value(), parameters, values)
+                : translate(em, method.getName(), query.value(), parameters, values);
+        javax.persistence.Query explain = em.createNativeQuery("EXPLAIN " + sql);
+        values.forEach(explain::setParameter);
+        return String.valueOf(explain.getSingleResult());
+    }
+
+    private static String translate(EntityManager em, String name, String jpql, Map<String, Object> parameters,
+                                    Map<Integer, Object> values) {
+        Map<String, Object> expanded = new HashMap<>(parameters);
+        jpql = expandCollections(jpql, expanded);
+        QueryTranslator translator = new ASTQueryTranslatorFactory().createQueryTranslator(name, jpql,
+                Collections.emptyMap(), em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class), null);
+        translator.compile(Collections.emptyMap(), false);
+        Map<String, NamedParameterInformation> named = translator.getParameterTranslations()
+                .getNamedParameterInformationMap();
+        named.forEach((parameter, information) -> {
+            for (int location : information.getSourceLocations()) {
+                values.put(location + 1, value(expanded, parameter));
+            }
+        });
+        return translator.getSQLString();
+    }
+
+    /**
+     * Rewrites a collection parameter into one parameter per element, as Hibernate does before it runs the query.
+     */
+    private static String expandCollections(String jpql, Map<String, Object> parameters) {
+        Matcher matcher = NAMED_PARAMETER.matcher(jpql);
+        StringBuilder expanded = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            Object value = parameters.get(name);
+            if (!(value instanceof Collection)) {
+                continue;
+            }
+            List<String> placeholders = new ArrayList<>();
+            int index = 0;
+            for (Object item : (Collection<?>) value) {
+                String element = name + "_" + index++;
+                parameters.put(element, item);
+                placeholders.add(":" + element);
+            }
+            matcher.appendReplacement(expanded, String.join(", ", placeholders));
+        }
+        matcher.appendTail(expanded);
+        return expanded.toString();
+    }
+
+    private static String bindNative(String sql, Map<String, Object> parameters, Map<Integer, Object> values) {
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        StringBuilder bound = new StringBuilder();
+        while (matcher.find()) {
+            Object value = value(parameters, matcher.group(1));
+            List<Object> items = value instanceof Collection ? new ArrayList<>((Collection<?>) value) : List.of(value);
+            List<String> placeholders = new ArrayList<>();
+            for (Object item : items) {
+                values.put(values.size() + 1, item);
+                placeholders.add("?");
+            }
+            matcher.appendReplacement(bound, String.join(", ", placeholders));
+        }
+        matcher.appendTail(bound);
+        return bound.toString();
+    }
+
+    private static Object value(Map<String, Object> parameters, String name) {
+        if (!parameters.containsKey(name)) {
+            throw new IllegalArgumentException("No value for parameter " + name);
+        }
+        return parameters.get(name);
+    }
+}
@@ -0,0 +1,26 @@
+package datas;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class StatementCounter {
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public void assertStatements(long expected) {
+        assertThat("Prepared SQL statements", statistics.getPrepareStatementCount(), equalTo(expected));
+    }
+}
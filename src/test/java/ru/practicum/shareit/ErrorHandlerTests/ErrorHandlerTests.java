@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.exception.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -44,6 +45,16 @@ public class ErrorHandlerTests {
         assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
     }
 
+    @Test
+    public void testOptimisticLockingFailure() {
+        ObjectOptimisticLockingFailureException exception =
+                new ObjectOptimisticLockingFailureException("Booking", 1);
+
+        ErrorResponse errorResponse = errorHandler.optimisticLockingFailure(exception);
+
+        assertEquals(HttpStatus.CONFLICT.value(), errorResponse.getStatus());
+    }
+
     @Test
     public void testUnauthorizedUser() {
         UnauthorizedException unauthorizedException = new UnauthorizedException("Unauthorized");
@@ -0,0 +1,96 @@
+package ru.practicum.shareit;
+
+import datas.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.feed.RequestFeed;
+import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.user.cache.UserCache;
+
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transactional;
+import java.util.List;
+
+@Transactional
+@SpringBootTest(
+        properties = "spring.datasource.url=jdbc:h2:mem:shareit",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, scripts = "classpath:data.sql")
+public class StatementCountTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserCache userCache;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private RequestService requestService;
+    @Autowired
+    private RequestFeed requestFeed;
+
+    private StatementCounter statements;
+
+    @BeforeEach
+    void setUp() {
+        List.of(1, 2, 3).forEach(userCache::findById);
+        requestFeed.findAlien(1, 0, 1);
+        statements = new StatementCounter(entityManagerFactory);
+        statements.reset();
+    }
+
+    @Test
+    public void getBookingByIdShouldLoadBookingWithItemAndBookerInOneStatement() {
+        bookingService.getBookingById(1, 2);
+
+        statements.assertStatements(1);
+    }
+
+    @Test
+    public void getBookingsByOwnerIdShouldUseOneStatement() {
+        bookingService.getBookingsByOwnerId(3, "ALL", 0, 10);
+
+        statements.assertStatements(1);
+    }
+
+    @Test
+    public void getBookingRequestsByUserIdShouldUseOneStatement() {
+        bookingService.getBookingRequestsByUserId(1, "ALL", 0, 10);
+
+        statements.assertStatements(1);
+    }
+
+    @Test
+    public void findItemByOwnerShouldLoadItemAndBothBookings() {
+        itemService.findItemByUserIdAndItemId(6, 3);
+
+        statements.assertStatements(3);
+    }
+
+    @Test
+    public void findItemByOtherUserShouldLoadOnlyItem() {
+        itemService.findItemByUserIdAndItemId(6, 1);
+
+        statements.assertStatements(1);
+    }
+
+    @Test
+    public void findAllItemsShouldNotDependOnPageSize() {
+        itemService.findAllItems(3, 0, 10);
+
+        statements.assertStatements(3);
+    }
+
+    @Test
+    public void getAllAlienRequestsShouldLoadPageByIdsAndItemsInOneStatementEach() {
+        requestService.getAllAlien(2, 0, 10);
+
+        statements.assertStatements(2);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityCacheTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingAvailabilityCache availabilityCache;
+
+    @BeforeEach
+    void setUp() {
+        availabilityCache = new BookingAvailabilityCache(bookingRepository, 2);
+    }
+
+    @Test
+    public void checkHasOverlap() {
+        when(bookingRepository.findAllByItemIdAndStatus(1, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(DAY, DAY.plusDays(2)), period(DAY.plusDays(5), DAY.plusDays(6))));
+
+        assertTrue(availabilityCache.hasOverlap(1, DAY.minusDays(1), DAY.plusHours(1)));
+        assertTrue(availabilityCache.hasOverlap(1, DAY.plusDays(1), DAY.plusDays(10)));
+        assertTrue(availabilityCache.hasOverlap(1, DAY.plusDays(5).plusHours(1), DAY.plusDays(5).plusHours(2)));
+        assertFalse(availabilityCache.hasOverlap(1, DAY.minusDays(1), DAY));
+        assertFalse(availabilityCache.hasOverlap(1, DAY.plusDays(2), DAY.plusDays(5)));
+        assertFalse(availabilityCache.hasOverlap(1, DAY.plusDays(6), DAY.plusDays(7)));
+
+        verify(bookingRepository).findAllByItemIdAndStatus(1, BookingStatus.APPROVED);
+    }
+
+    @Test
+    public void checkReserveMergesPeriods() {
+        when(bookingRepository.findAllByItemIdAndStatus(1, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(DAY, DAY.plusDays(1)), period(DAY.plusDays(3), DAY.plusDays(4))));
+        availabilityCache.hasOverlap(1, DAY, DAY.plusDays(1));
+
+        availabilityCache.reserve(1, DAY.plusDays(1), DAY.plusDays(3));
+
+        assertTrue(availabilityCache.hasOverlap(1, DAY.plusDays(2), DAY.plusDays(2).plusHours(1)));
+        assertFalse(availabilityCache.hasOverlap(1, DAY.plusDays(4), DAY.plusDays(5)));
+        verify(bookingRepository).findAllByItemIdAndStatus(1, BookingStatus.APPROVED);
+    }
+
+    @Test
+    public void checkReleaseReloadsFromRepository() {
+        when(bookingRepository.findAllByItemIdAndStatus(1, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(DAY, DAY.plusDays(1))))
+                .thenReturn(List.of());
+        assertTrue(availabilityCache.hasOverlap(1, DAY, DAY.plusDays(1)));
+
+        availabilityCache.release(1);
+
+        assertFalse(availabilityCache.hasOverlap(1, DAY, DAY.plusDays(1)));
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatus(1, BookingStatus.APPROVED);
+    }
+
+    @Test
+    public void checkEvictsLeastRecentlyUsedItem() {
+        when(bookingRepository.findAllByItemIdAndStatus(anyInt(), eq(BookingStatus.APPROVED))).thenReturn(List.of());
+
+        availabilityCache.hasOverlap(1, DAY, DAY.plusDays(1));
+        availabilityCache.hasOverlap(2, DAY, DAY.plusDays(1));
+        availabilityCache.hasOverlap(1, DAY, DAY.plusDays(1));
+        availabilityCache.hasOverlap(3, DAY, DAY.plusDays(1));
+        availabilityCache.hasOverlap(1, DAY, DAY.plusDays(1));
+        availabilityCache.hasOverlap(2, DAY, DAY.plusDays(1));
+
+        verify(bookingRepository).findAllByItemIdAndStatus(1, BookingStatus.APPROVED);
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatus(2, BookingStatus.APPROVED);
+        verify(bookingRepository).findAllByItemIdAndStatus(3, BookingStatus.APPROVED);
+    }
+
+    private static BookingPeriod period(LocalDateTime start, LocalDateTime end) {
+        return new BookingPeriod() {
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
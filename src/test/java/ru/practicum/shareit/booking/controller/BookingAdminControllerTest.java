@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = BookingAdminController.class, properties = "shareit.admin.enabled=true")
+public class BookingAdminControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private BookingService bookingService;
+
+    @Test
+    public void checkRebuildOwnerBookingView() throws Exception {
+        when(bookingService.rebuildOwnerBookingView()).thenReturn(7);
+
+        mockMvc.perform(post("/admin/bookings/owner-view/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(7));
+        verify(bookingService).rebuildOwnerBookingView();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,14 +10,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import datas.LocalDateAdapter;
 import datas.LocalDateTimeAdapter;
 import ru.practicum.shareit.constants.Constants;
+import ru.practicum.shareit.custom.PageCursor;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
@@ -24,8 +29,15 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static datas.ObjectMaker.*;
@@ -37,6 +49,8 @@ public class BookingControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
     @MockBean
     private BookingService bookingService;
     @MockBean
@@ -63,16 +77,16 @@ public class BookingControllerTest {
         User owner = makeUser(2, "Petr", "petr@ya.ru");
         item = makeItem(1, "item", "description", true,
                 owner, null, null);
-        bookingWithoutId = makeBooking(null, LocalDateTime.of(2024, 10, 10, 10, 10, 10),
-                LocalDateTime.of(2025, 10, 11, 10, 10, 10), BookingStatus.WAITING, item, booker);
-        bookingDtoWithoutId = makeBookingCreateDto(LocalDateTime.of(2024, 10, 10, 10, 10, 10),
-                LocalDateTime.of(2025, 10, 11, 10, 10, 10), item.getId(), booker.getId());
-        booking = makeBooking(1, LocalDateTime.of(2024, 10, 10, 10, 10, 10),
-                LocalDateTime.of(2025, 10, 11, 10, 10, 10), BookingStatus.WAITING, item, booker);
-        bookingCreateDto = makeBookingCreateDto(LocalDateTime.of(2024, 10, 10, 10, 10, 10),
-                LocalDateTime.of(2025, 10, 11, 10, 10, 10), item.getId(), booker.getId());
-        bookingResponseDto = makeBookingResponseDto(1, LocalDateTime.of(2024, 10, 10, 10, 10, 10),
-                LocalDateTime.of(2025, 10, 11, 10, 10, 10), BookingStatus.WAITING, item, booker);
+        bookingWithoutId = makeBooking(null, LocalDateTime.of(2034, 10, 10, 10, 10, 10),
+                LocalDateTime.of(2035, 10, 11, 10, 10, 10), BookingStatus.WAITING, item, booker);
+        bookingDtoWithoutId = makeBookingCreateDto(LocalDateTime.of(2034, 10, 10, 10, 10, 10),
+                LocalDateTime.of(2035, 10, 11, 10, 10, 10), item.getId(), booker.getId());
+        booking = makeBooking(1, LocalDateTime.of(2034, 10, 10, 10, 10, 10),
+                LocalDateTime.of(2035, 10, 11, 10, 10, 10), BookingStatus.WAITING, item, booker);
+        bookingCreateDto = makeBookingCreateDto(LocalDateTime.of(2034, 10, 10, 10, 10, 10),
+                LocalDateTime.of(2035, 10, 11, 10, 10, 10), item.getId(), booker.getId());
+        bookingResponseDto = makeBookingResponseDto(1, LocalDateTime.of(2034, 10, 10, 10, 10, 10),
+                LocalDateTime.of(2035, 10, 11, 10, 10, 10), BookingStatus.WAITING, item, booker);
     }
 
     @Test
@@ -149,6 +163,107 @@ public class BookingControllerTest {
         verifyNoMoreInteractions(bookingService);
     }
 
+    @Test
+    public void checkApproveBookings() throws Exception {
+        List<BookingApprovalResultDto> results = List.of(
+                new BookingApprovalResultDto(1, BookingApprovalResultDto.Outcome.UPDATED, BookingStatus.APPROVED, null),
+                new BookingApprovalResultDto(2, BookingApprovalResultDto.Outcome.NOT_FOUND, null, "not found"));
+        when(bookingService.approveBookings(List.of(1, 2), true, booker.getId())).thenReturn(results);
+
+        mockMvc.perform(patch("/bookings/approve")
+                        .param("approved", "true")
+                        .content(gson.toJson(List.of(1, 2)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(USER_ID_HEADER, booker.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(gson.toJson(results)));
+
+        verify(bookingService).approveBookings(List.of(1, 2), true, booker.getId());
+        verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    public void checkApproveBookingsWithoutIds() throws Exception {
+        mockMvc.perform(patch("/bookings/approve")
+                        .param("approved", "false")
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkExportMyBookings() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingResponseDto> consumer = invocation.getArgument(2);
+            consumer.accept(bookingResponseDto);
+            consumer.accept(bookingResponseDto.toBuilder().id(2).build());
+            return null;
+        }).when(bookingService).exportBookingsByOwnerId(eq(booker.getId()), eq("WAITING"), any(Consumer.class));
+
+        String body = mockMvc.perform(get("/bookings/owner/export")
+                        .param("state", "WAITING")
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1, objectMapper.readValue(lines[0], BookingResponseDto.class).getId());
+        assertEquals(2, objectMapper.readValue(lines[1], BookingResponseDto.class).getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkExportMyBookingsUnknownOwner() throws Exception {
+        doThrow(new NotFoundException("Пользователь не найден userId: " + booker.getId()))
+                .when(bookingService).exportBookingsByOwnerId(eq(booker.getId()), eq("ALL"), any(Consumer.class));
+
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void checkGetMyBookingStats() throws Exception {
+        Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+        counts.put(BookingState.ALL, 3L);
+        counts.put(BookingState.WAITING, 1L);
+        when(bookingService.getBookingStatsByOwnerId(booker.getId(), true)).thenReturn(counts);
+
+        mockMvc.perform(get("/bookings/owner/stats")
+                        .param("fast", "true")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL").value(3))
+                .andExpect(jsonPath("$.WAITING").value(1));
+
+        verify(bookingService).getBookingStatsByOwnerId(booker.getId(), true);
+        verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    public void checkGetMyBookingRequestStats() throws Exception {
+        when(bookingService.getBookingStatsByBookerId(booker.getId(), false))
+                .thenReturn(Map.of(BookingState.REJECTED, 2L));
+
+        mockMvc.perform(get("/bookings/stats")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.REJECTED").value(2));
+
+        verify(bookingService).getBookingStatsByBookerId(booker.getId(), false);
+    }
+
     @Test
     public void checkGetBooking() throws Exception {
         when(bookingService.getBookingById(booking.getId(), booker.getId()))
@@ -196,4 +311,35 @@ public class BookingControllerTest {
         verify(bookingService).getBookingRequestsByUserId(myId, "WAITING", 0, 5);
         verifyNoMoreInteractions(bookingService);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkGetMyBookingRequestsAfterCursor() throws Exception {
+        PageCursor after = new PageCursor(LocalDateTime.of(2024, 10, 11, 10, 10, 10), 2);
+        when(bookingService.getBookingRequestsByUserId(booker.getId(), "ALL", after, 1))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("size", "1")
+                        .param("after", after.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Constants.NEXT_CURSOR,
+                        new PageCursor(bookingResponseDto.getStart(), bookingResponseDto.getId()).encode()))
+                .andExpect(content().json(gson.toJson(List.of(bookingResponseDto))));
+
+        verify(bookingService).getBookingRequestsByUserId(booker.getId(), "ALL", after, 1);
+        verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    public void checkGetMyBookingsInvalidCursor() throws Exception {
+        mockMvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("after", "broken"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemLocksTest {
+    private final ItemLocks itemLocks = new ItemLocks(4);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void checkLockHeldUntilCompletion() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        itemLocks.lockUntilCompletion(1);
+
+        assertFalse(CompletableFuture.supplyAsync(() -> itemLocks.stripe(1).tryLock()).get(1, TimeUnit.SECONDS));
+        assertTrue(CompletableFuture.supplyAsync(() -> tryLockAndRelease(2)).get(1, TimeUnit.SECONDS));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertTrue(CompletableFuture.supplyAsync(() -> tryLockAndRelease(1)).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void checkLockAllLocksEachStripeOnce() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        itemLocks.lockAllUntilCompletion(List.of(6, 1, 5, 2));
+
+        assertEquals(2, TransactionSynchronizationManager.getSynchronizations().size());
+        assertFalse(CompletableFuture.supplyAsync(() -> itemLocks.stripe(1).tryLock()).get(1, TimeUnit.SECONDS));
+        assertFalse(CompletableFuture.supplyAsync(() -> itemLocks.stripe(2).tryLock()).get(1, TimeUnit.SECONDS));
+        assertTrue(CompletableFuture.supplyAsync(() -> tryLockAndRelease(3)).get(1, TimeUnit.SECONDS));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertTrue(CompletableFuture.supplyAsync(() -> tryLockAndRelease(1)).get(1, TimeUnit.SECONDS));
+        assertTrue(CompletableFuture.supplyAsync(() -> tryLockAndRelease(2)).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void checkStripesSharedByModulo() {
+        assertSame(itemLocks.stripe(1), itemLocks.stripe(5));
+        assertNotSame(itemLocks.stripe(1), itemLocks.stripe(2));
+    }
+
+    @Test
+    public void checkLockOutsideTransaction() {
+        assertThrows(IllegalStateException.class, () -> itemLocks.lockUntilCompletion(1));
+    }
+
+    private boolean tryLockAndRelease(Integer itemId) {
+        if (!itemLocks.stripe(itemId).tryLock()) {
+            return false;
+        }
+        itemLocks.stripe(itemId).unlock();
+        return true;
+    }
+}
@@ -4,13 +4,20 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 public class BookingMapperTest {
 
     private final BookingMapper mapper = Mappers.getMapper(BookingMapper.class);
@@ -43,4 +50,29 @@ public class BookingMapperTest {
 
         assertEquals(1, responseDto.getId());
     }
+
+    @Test
+    void testBookingViewToBookingResponseDto() {
+        BookingView view = new SpelAwareProxyProjectionFactory().createProjection(BookingView.class, Map.ofEntries(
+                Map.entry("id", 1),
+                Map.entry("startDate", LocalDateTime.of(2022, 9, 15, 7, 52)),
+                Map.entry("endDate", LocalDateTime.of(2022, 9, 15, 12, 52)),
+                Map.entry("status", BookingStatus.APPROVED),
+                Map.entry("itemId", 2),
+                Map.entry("itemName", "Дрель"),
+                Map.entry("itemDescription", "Простая дрель"),
+                Map.entry("itemAvailable", true),
+                Map.entry("bookerId", 3),
+                Map.entry("bookerName", "Maria"),
+                Map.entry("bookerEmail", "maria@ya.ru")));
+
+        BookingResponseDto responseDto = mapper.toBookingResponseDto(view);
+
+        assertEquals(1, responseDto.getId());
+        assertEquals(LocalDateTime.of(2022, 9, 15, 7, 52), responseDto.getStart());
+        assertEquals(LocalDateTime.of(2022, 9, 15, 12, 52), responseDto.getEnd());
+        assertEquals(BookingStatus.APPROVED, responseDto.getStatus());
+        assertEquals(new ItemDto(2, "Дрель", "Простая дрель", true, null), responseDto.getItem());
+        assertEquals(new UserDto(3, "Maria", "maria@ya.ru"), responseDto.getBooker());
+    }
 }
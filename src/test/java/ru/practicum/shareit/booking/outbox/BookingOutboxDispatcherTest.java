@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.model.BookingEventType;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingOutboxDispatcherTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    @Mock
+    private BookingEventRepository bookingEventRepository;
+    @Mock
+    private BookingEventSink sink;
+
+    private BookingOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new BookingOutboxDispatcher(bookingEventRepository, sink,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2, Duration.ZERO);
+    }
+
+    @Test
+    public void drainShouldPublishAndDeleteBatchesUntilOutboxIsEmpty() {
+        when(bookingEventRepository.findNextBatch(PageRequest.of(0, 2)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+
+        assertEquals(3, dispatcher.drain());
+
+        verify(sink).publish(argThat(events -> ids(events).equals(List.of(1L, 2L))));
+        verify(sink).publish(argThat(events -> ids(events).equals(List.of(3L))));
+        verify(bookingEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(bookingEventRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    public void drainShouldKeepBatchWhenSinkFails() {
+        when(bookingEventRepository.findNextBatch(PageRequest.of(0, 2))).thenReturn(List.of(event(1L)));
+        doThrow(new IllegalStateException("sink is down")).when(sink).publish(anyList());
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.drain());
+
+        verify(bookingEventRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    public void drainShouldDoNothingForEmptyOutbox() {
+        when(bookingEventRepository.findNextBatch(PageRequest.of(0, 2))).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.drain());
+
+        verifyNoInteractions(sink);
+    }
+
+    private static List<Long> ids(List<BookingEventDto> events) {
+        return events.stream().map(BookingEventDto::getId).collect(Collectors.toList());
+    }
+
+    private static BookingEvent event(Long id) {
+        return BookingEvent.builder()
+                .id(id)
+                .type(BookingEventType.CREATED)
+                .bookingId(id.intValue())
+                .bookingVersion(0)
+                .itemId(1)
+                .ownerId(2)
+                .bookerId(3)
+                .status(BookingStatus.WAITING)
+                .start(START)
+                .end(START.plusDays(1))
+                .created(START.minusDays(1))
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.booking.model.BookingEventType;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonBookingEventSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void publishShouldAppendOneLinePerEvent() throws IOException {
+        Path file = dir.resolve("events.ndjson");
+        NdjsonBookingEventSink sink = new NdjsonBookingEventSink(objectMapper, file);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        BookingEventDto created = BookingEventDto.builder()
+                .id(1L).type(BookingEventType.CREATED).bookingId(7).bookingVersion(0).itemId(1).ownerId(2).bookerId(3)
+                .status(BookingStatus.WAITING).start(start).end(start.plusDays(1)).created(start.minusDays(1))
+                .build();
+        BookingEventDto approved = created.toBuilder()
+                .id(2L).type(BookingEventType.STATUS_CHANGED).bookingVersion(1)
+                .status(BookingStatus.APPROVED).previousStatus(BookingStatus.WAITING)
+                .build();
+
+        sink.publish(List.of(created));
+        sink.publish(List.of(approved));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals(objectMapper.writeValueAsString(created), lines.get(0));
+        assertEquals(objectMapper.writeValueAsString(approved), lines.get(1));
+    }
+}
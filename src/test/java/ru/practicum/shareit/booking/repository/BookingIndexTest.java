@@ -0,0 +1,153 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static datas.QueryPlans.explain;
+import static datas.QueryPlans.method;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Runs on its own database: H2 backs every foreign key with an index on exactly its columns, which PostgreSQL
+ * does not, so the booking foreign keys are dropped there to leave the planner only the managed indexes.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-index")
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, scripts = "classpath:data.sql")
+class BookingIndexTest {
+    private static final String BOOKER_START = "BOOKINGS_BOOKER_START_IDX";
+    private static final String BOOKER_STATUS_START = "BOOKINGS_BOOKER_STATUS_START_IDX";
+    private static final String ITEM_START = "BOOKINGS_ITEM_START_IDX";
+    private static final String ITEM_STATUS_START = "BOOKINGS_ITEM_STATUS_START_IDX";
+    private static final String OWNER_EXPORT = "BOOKINGS_OWNER_EXPORT_IDX";
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Map<String, Object> BY_BOOKER = Map.of("booker", 1);
+    private static final Map<String, Object> BY_BOOKER_AND_STATUS = Map.of("booker", 1, "status", "WAITING");
+    private static final Map<String, Object> BY_BOOKER_AFTER = Map.of("booker", 1, "start", NOW, "id", 5);
+    private static final Map<String, Object> BY_BOOKER_AND_STATUS_AFTER = Map.of("booker", 1, "status", "WAITING",
+            "start", NOW, "id", 5);
+    private static final Map<String, Object> BY_OWNER = Map.of("ownerId", 3);
+    private static final Map<String, Object> BY_ITEM = Map.of("item", 6);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @BeforeEach
+    void dropForeignKeyIndexes() {
+        List<?> constraints = em.getEntityManager()
+                .createNativeQuery("SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS" +
+                        " WHERE TABLE_NAME = 'BOOKINGS' AND CONSTRAINT_TYPE = 'FOREIGN KEY'")
+                .getResultList();
+        constraints.forEach(name -> em.getEntityManager()
+                .createNativeQuery("ALTER TABLE bookings DROP CONSTRAINT " + name)
+                .executeUpdate());
+    }
+
+    /**
+     * Repository methods with the parameter values to explain them with and the index that must serve them.
+     */
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                Arguments.of(method(BookingRepository.class, "findAllByBookerOrderByStartDesc", User.class,
+                        Pageable.class), BY_BOOKER, BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "findAllFutureByBooker", User.class, Pageable.class),
+                        BY_BOOKER, BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "findAllPastByBooker", User.class, Pageable.class),
+                        BY_BOOKER, BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "findAllCurrentByBooker", User.class, Pageable.class),
+                        BY_BOOKER, BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "findAllPastByBooker", User.class),
+                        BY_BOOKER, BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "findAllByBookerAndStatusOrderByStartDesc", User.class,
+                        BookingStatus.class, Pageable.class), BY_BOOKER_AND_STATUS, BOOKER_STATUS_START),
+                Arguments.of(method(BookingRepository.class, "findAllByBookerAfter", User.class, LocalDateTime.class,
+                        Integer.class, Pageable.class), BY_BOOKER_AFTER, BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "findAllFutureByBookerAfter", User.class,
+                        LocalDateTime.class, Integer.class, Pageable.class), BY_BOOKER_AFTER, BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "findAllPastByBookerAfter", User.class,
+                        LocalDateTime.class, Integer.class, Pageable.class), BY_BOOKER_AFTER, BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "findAllCurrentByBookerAfter", User.class,
+                        LocalDateTime.class, Integer.class, Pageable.class), BY_BOOKER_AFTER, BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "findAllByBookerAndStatusAfter", User.class,
+                                BookingStatus.class, LocalDateTime.class, Integer.class, Pageable.class),
+                        BY_BOOKER_AND_STATUS_AFTER, BOOKER_STATUS_START),
+                Arguments.of(method(BookingRepository.class, "countStatesByBookerId", Integer.class,
+                        LocalDateTime.class), Map.of("bookerId", 1, "now", NOW), BOOKER_START),
+                Arguments.of(method(BookingRepository.class, "streamAllByOwner", Integer.class),
+                        BY_OWNER, OWNER_EXPORT),
+                Arguments.of(method(BookingRepository.class, "streamFutureByOwner", Integer.class),
+                        BY_OWNER, OWNER_EXPORT),
+                Arguments.of(method(BookingRepository.class, "streamPastByOwner", Integer.class),
+                        BY_OWNER, OWNER_EXPORT),
+                Arguments.of(method(BookingRepository.class, "streamCurrentByOwner", Integer.class),
+                        BY_OWNER, OWNER_EXPORT),
+                Arguments.of(method(BookingRepository.class, "streamByOwnerAndStatus", Integer.class,
+                        BookingStatus.class), Map.of("ownerId", 3, "status", "WAITING"), OWNER_EXPORT),
+                Arguments.of(method(BookingRepository.class, "countStatesByOwnerId", Integer.class,
+                        LocalDateTime.class), Map.of("ownerId", 3, "now", NOW), OWNER_EXPORT),
+                Arguments.of(method(BookingRepository.class, "findAllPastOrCurrentByItemDesc", Item.class,
+                        Pageable.class), BY_ITEM, ITEM_START),
+                Arguments.of(method(BookingRepository.class, "findAllFutureByItemAsc", Item.class, Pageable.class),
+                        BY_ITEM, ITEM_START),
+                Arguments.of(method(BookingRepository.class, "findAllByItemIdAndStatus", Integer.class,
+                        BookingStatus.class), Map.of("itemId", 6, "status", "APPROVED"), ITEM_STATUS_START)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQueryShouldUseManagedIndex(Method method, Map<String, Object> parameters, String index) {
+        String plan = explain(em.getEntityManager(), method, parameters);
+
+        assertThat(method.getName(), plan, containsString("PUBLIC." + index + ":"));
+    }
+
+    @Test
+    void lastAndNextByItemIdsShouldUseItemStartIndexInBothBranches() {
+        String plan = explain(em.getEntityManager(), method(BookingRepository.class, "findLastAndNextByItemIds",
+                Collection.class, LocalDateTime.class), Map.of("itemIds", List.of(4, 6), "now", NOW));
+
+        assertThat(plan.split("PUBLIC." + ITEM_START + ":").length - 1, is(2));
+    }
+
+    @Test
+    void approvalsByIdsShouldUsePrimaryKey() {
+        String plan = explain(em.getEntityManager(), method(BookingRepository.class, "findApprovalsByIdInAndOwnerId",
+                Collection.class, Integer.class), Map.of("ids", List.of(1, 2), "ownerId", 3));
+
+        assertThat(plan, allOf(containsString("PUBLIC.PRIMARY_KEY_"), containsString("ID IN(?1, ?2)")));
+    }
+
+    @Test
+    void managedIndexesShouldExist() {
+        List<String> indexes = ((List<?>) em.getEntityManager()
+                .createNativeQuery("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES" +
+                        " WHERE TABLE_NAME IN ('BOOKINGS', 'ITEMS')")
+                .getResultList()).stream()
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+
+        assertThat(indexes, hasItems(BOOKER_START, BOOKER_STATUS_START, ITEM_START, ITEM_STATUS_START,
+                OWNER_EXPORT, "ITEMS_OWNER_ID_IDX"));
+    }
+}
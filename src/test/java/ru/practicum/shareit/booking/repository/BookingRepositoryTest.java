@@ -8,10 +8,16 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingStats;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -43,7 +49,7 @@ class BookingRepositoryTest {
 
     @Test
     public void checkFindAllFutureByBooker() {
-        List<Booking> bookings = bookingRepository.findAllFutureByBooker(booker, pr).getContent();
+        List<BookingView> bookings = bookingRepository.findAllFutureByBooker(booker, pr).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), equalTo(2));
@@ -53,7 +59,7 @@ class BookingRepositoryTest {
 
     @Test
     public void checkFindAllPastByBooker() {
-        List<Booking> bookings = bookingRepository.findAllPastByBooker(booker, pr).getContent();
+        List<BookingView> bookings = bookingRepository.findAllPastByBooker(booker, pr).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), equalTo(2));
@@ -61,9 +67,16 @@ class BookingRepositoryTest {
         assertThat(bookings.get(1).getId(), is(in(List.of(4, 5))));
     }
 
+    @Test
+    public void checkFindAllPastByBookerBreaksStartTiesById() {
+        List<BookingView> bookings = bookingRepository.findAllPastByBooker(booker, pr).getContent();
+
+        assertThat(bookings.stream().map(BookingView::getId).collect(Collectors.toList()), contains(5, 4));
+    }
+
     @Test
     public void checkFindAllCurrentByBooker() {
-        List<Booking> bookings = bookingRepository.findAllPastByBooker(booker, pr).getContent();
+        List<BookingView> bookings = bookingRepository.findAllPastByBooker(booker, pr).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), equalTo(2));
@@ -72,50 +85,77 @@ class BookingRepositoryTest {
     }
 
     @Test
-    public void checkFindAllFutureByOwner() {
-        List<Booking> bookings = bookingRepository.findAllFutureByOwner(owner, pr).getContent();
+    public void checkFindAllPastOrCurrentByItemDesc() {
+        List<Booking> bookings = bookingRepository.findAllPastOrCurrentByItemDesc(item, pr);
 
         assertThat(bookings, notNullValue());
         assertThat(bookings.size(), equalTo(1));
-        assertThat(bookings.get(0).getId(), equalTo(6));
+        assertThat(bookings.get(0).getId(), equalTo(7));
     }
 
     @Test
-    public void checkFindAllPastByOwner() {
-        List<Booking> bookings = bookingRepository.findAllPastByOwner(owner, pr).getContent();
+    public void checkFindAllFutureByItemAsc() {
+
+        List<Booking> bookings = bookingRepository.findAllFutureByItemAsc(item, pr);
 
         assertThat(bookings, notNullValue());
-        assertThat(bookings.size(), equalTo(2));
-        assertThat(bookings.get(0).getId(), is(in(List.of(4, 5))));
-        assertThat(bookings.get(1).getId(), is(in(List.of(4, 5))));
+        assertThat(bookings.size(), equalTo(1));
+        assertThat(bookings.get(0).getId(), equalTo(6));
     }
 
     @Test
-    public void checkFindAllCurrentByOwner() {
-        List<Booking> bookings = bookingRepository.findAllCurrentByOwner(owner, pr).getContent();
+    public void checkFindLastAndNextByItemIds() {
+        List<Booking> bookings = bookingRepository.findLastAndNextByItemIds(List.of(4, 6), LocalDateTime.now());
 
         assertThat(bookings, notNullValue());
-        assertThat(bookings.size(), equalTo(2));
-        assertThat(bookings.get(0).getId(), is(in(List.of(1, 7))));
-        assertThat(bookings.get(1).getId(), is(in(List.of(1, 7))));
+        assertThat(bookings.size(), equalTo(3));
+        assertThat(bookings.get(0).getId(), is(in(List.of(4, 6, 7))));
+        assertThat(bookings.get(1).getId(), is(in(List.of(4, 6, 7))));
+        assertThat(bookings.get(2).getId(), is(in(List.of(4, 6, 7))));
     }
 
     @Test
-    public void checkFindAllPastOrCurrentByItemDesc() {
-        List<Booking> bookings = bookingRepository.findAllPastOrCurrentByItemDesc(item, pr).getContent();
+    public void checkFindApprovalsByIdInAndOwnerId() {
+        List<BookingApproval> bookings = bookingRepository.findApprovalsByIdInAndOwnerId(List.of(1, 2, 4, 6, 100),
+                owner.getId());
+
+        assertThat(bookings.size(), equalTo(3));
+        assertThat(bookings.get(0).getId(), is(in(List.of(1, 4, 6))));
+        BookingApproval rejected = bookings.stream().filter(booking -> booking.getId() == 4).findFirst().orElseThrow();
+        assertThat(rejected.getItemId(), equalTo(4));
+        assertThat(rejected.getStatus(), equalTo(BookingStatus.REJECTED));
+        assertThat(rejected.getStart(), notNullValue());
+    }
 
-        assertThat(bookings, notNullValue());
-        assertThat(bookings.size(), equalTo(1));
-        assertThat(bookings.get(0).getId(), equalTo(7));
+    @Test
+    public void checkUpdateStatusByIdIn() {
+        int updated = bookingRepository.updateStatusByIdIn(List.of(3, 4), BookingStatus.REJECTED);
+        em.clear();
+
+        assertThat(updated, equalTo(1));
+        Booking booking = em.find(Booking.class, 3);
+        assertThat(booking.getStatus(), equalTo(BookingStatus.REJECTED));
+        assertThat(booking.getVersion(), equalTo(1));
     }
 
     @Test
-    public void checkFindAllFutureByItemAsc() {
+    public void checkCountStatesByOwnerId() {
+        BookingStats stats = bookingRepository.countStatesByOwnerId(owner.getId(), LocalDateTime.now());
+
+        assertThat(stats.getAll(), equalTo(5L));
+        assertThat(stats.getCurrent(), equalTo(2L));
+        assertThat(stats.getPast(), equalTo(2L));
+        assertThat(stats.getFuture(), equalTo(1L));
+        assertThat(stats.getWaiting(), equalTo(0L));
+        assertThat(stats.getRejected(), equalTo(1L));
+    }
 
-        List<Booking> bookings = bookingRepository.findAllFutureByItemAsc(item, pr).getContent();
+    @Test
+    public void checkCountStatesByBookerId() {
+        BookingStats stats = bookingRepository.countStatesByBookerId(booker.getId(), LocalDateTime.now());
 
-        assertThat(bookings, notNullValue());
-        assertThat(bookings.size(), equalTo(1));
-        assertThat(bookings.get(0).getId(), equalTo(6));
+        assertThat(stats.getAll(), equalTo(5L));
+        assertThat(stats.getFuture(), equalTo(2L));
+        assertThat(stats.getRejected(), equalTo(1L));
     }
-}
\ No newline at end of file
+}
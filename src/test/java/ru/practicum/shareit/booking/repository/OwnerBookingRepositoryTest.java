@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.OwnerBooking;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:shareit")
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, scripts = "classpath:data.sql")
+class OwnerBookingRepositoryTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private OwnerBookingRepository ownerBookingRepository;
+
+    private final PageRequest pr = PageRequest.of(0, 10);
+
+    @Test
+    public void checkFindAllByOwnerReadsFlattenedRowsNewestFirst() {
+        List<OwnerBooking> bookings = ownerBookingRepository.findAllByOwner(3, pr);
+
+        assertThat(ids(bookings), contains(6, 7, 1, 5, 4));
+        OwnerBooking first = bookings.get(0);
+        assertThat(first.getItemId(), is(6));
+        assertThat(first.getItemName(), is("Мультиварка"));
+        assertThat(first.getBookerId(), is(1));
+        assertThat(first.getBookerName(), is("Petr"));
+        assertThat(first.getStatus(), is(BookingStatus.APPROVED));
+    }
+
+    @Test
+    public void checkFindByOwnerAndState() {
+        assertThat(ids(ownerBookingRepository.findAllCurrentByOwner(3, pr)), contains(7, 1));
+        assertThat(ids(ownerBookingRepository.findAllPastByOwner(3, pr)), contains(5, 4));
+        assertThat(ids(ownerBookingRepository.findAllFutureByOwner(3, pr)), contains(6));
+        assertThat(ids(ownerBookingRepository.findAllByOwnerAndStatus(3, BookingStatus.REJECTED, pr)), contains(4));
+    }
+
+    @Test
+    public void checkFindAllByOwnerAfterCursor() {
+        OwnerBooking cursor = ownerBookingRepository.findAllByOwner(3, PageRequest.of(0, 2)).get(1);
+
+        assertThat(ids(ownerBookingRepository.findAllByOwnerAfter(3, cursor.getStart(), cursor.getBookingId(), pr)),
+                contains(1, 5, 4));
+    }
+
+    @Test
+    public void checkUpdateItemAndBookerRewriteEveryRow() {
+        assertThat(ownerBookingRepository.updateItem(6, "Скороварка", "Новая", false), is(2));
+        assertThat(ownerBookingRepository.updateBooker(1, "Pavel", "pavel@ya.ru"), is(5));
+        em.clear();
+
+        OwnerBooking booking = ownerBookingRepository.findById(7).orElseThrow();
+        assertThat(booking.getItemName(), is("Скороварка"));
+        assertThat(booking.getItemAvailable(), is(false));
+        assertThat(booking.getBookerEmail(), is("pavel@ya.ru"));
+    }
+
+    @Test
+    public void checkRebuildCopiesBookings() {
+        ownerBookingRepository.updateStatusByBookingIdIn(List.of(3), BookingStatus.REJECTED);
+        ownerBookingRepository.deleteAllInBatch();
+
+        assertThat(ownerBookingRepository.insertAllFromBookings(), is(7));
+        assertThat(ownerBookingRepository.findById(3).orElseThrow().getStatus(), is(BookingStatus.WAITING));
+    }
+
+    @Test
+    public void ownerQueryShouldUseIndexScan() {
+        String plan = String.valueOf(em.getEntityManager().createNativeQuery("EXPLAIN SELECT v.* FROM" +
+                " owner_booking_view AS v WHERE v.owner_id = 3 ORDER BY v.start_date DESC, v.booking_id DESC")
+                .getSingleResult());
+
+        assertThat(plan, containsString("OWNER_BOOKING_VIEW_OWNER_START_IDX"));
+    }
+
+    private static List<Integer> ids(List<OwnerBooking> bookings) {
+        return bookings.stream().map(OwnerBooking::getBookingId).collect(Collectors.toList());
+    }
+}
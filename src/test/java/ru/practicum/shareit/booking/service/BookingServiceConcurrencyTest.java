@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityCache;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.UnavailableItemException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static datas.ObjectMaker.makeBookingCreateDto;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(
+        properties = "spring.datasource.url=jdbc:h2:mem:shareit",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, scripts = "classpath:data.sql")
+public class BookingServiceConcurrencyTest {
+    private static final int THREADS = 64;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingAvailabilityCache availabilityCache;
+
+    @AfterEach
+    void tearDown() {
+        availabilityCache.release(4);
+        availabilityCache.release(5);
+    }
+
+    @Test
+    public void checkConcurrentSavesAreAllStored() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+
+        List<Object> results = runConcurrently(i -> () -> bookingService.saveBooking(
+                makeBookingCreateDto(start.plusDays(i * 2L), start.plusDays(i * 2L + 1), 5, 1), 1));
+
+        assertThat(results, everyItem(not(instanceOf(Throwable.class))));
+        assertThat(bookingsOfItem(5).size(), equalTo(THREADS + 1));
+    }
+
+    @Test
+    public void checkConcurrentApprovalsOfOverlappingBookings() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        List<Integer> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(bookingService.saveBooking(makeBookingCreateDto(start, start.plusDays(1), 4, 1), 1).getId());
+        }
+
+        List<Object> results = runConcurrently(i -> () -> bookingService.approveBooking(bookingIds.get(i), true, 3));
+
+        assertThat(results.stream().filter(result -> !(result instanceof Throwable)).count(), equalTo(1L));
+        assertThat(results.stream().filter(UnavailableItemException.class::isInstance).count(),
+                equalTo((long) THREADS - 1));
+        assertThat(bookingsOfItem(4).stream().filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count(), equalTo(1L));
+    }
+
+    @Test
+    public void checkConcurrentApprovalsOfSameBooking() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        Integer bookingId = bookingService.saveBooking(makeBookingCreateDto(start, start.plusDays(1), 4, 1), 1)
+                .getId();
+
+        List<Object> results = runConcurrently(i -> () -> bookingService.approveBooking(bookingId, true, 3));
+
+        assertThat(results.stream().filter(result -> !(result instanceof Throwable)).count(), equalTo(1L));
+        assertThat(results.stream().filter(result -> result instanceof Throwable).collect(Collectors.toList()),
+                everyItem(anyOf(
+                        instanceOf(ValidationException.class),
+                        instanceOf(UnavailableItemException.class),
+                        instanceOf(ObjectOptimisticLockingFailureException.class))));
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        assertThat(booking.getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(booking.getVersion(), equalTo(1));
+    }
+
+    private List<Object> runConcurrently(IntFunction<Runnable> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Runnable action = task.apply(i);
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        action.run();
+                        return Boolean.TRUE;
+                    } catch (RuntimeException e) {
+                        return e;
+                    }
+                }));
+            }
+            startGate.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Booking> bookingsOfItem(Integer itemId) {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(itemId))
+                .collect(Collectors.toList());
+    }
+}
@@ -6,16 +6,26 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.model.BookingEventType;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.outbox.BookingOutboxDispatcher;
+import ru.practicum.shareit.custom.PageCursor;
+import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.Matchers.in;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static datas.ObjectMaker.makeBookingCreateDto;
 import static datas.ObjectMaker.makeItem;
 import static datas.ObjectMaker.makeUser;
 
@@ -29,6 +39,8 @@ public class BookingServiceIntegrationTest {
     private EntityManager em;
     @Autowired
     private BookingService bookingService;
+    @Autowired
+    private BookingOutboxDispatcher outboxDispatcher;
 
     @Test
     public void checkGetBookingRequestsByUserIdAll() {
@@ -42,6 +54,62 @@ public class BookingServiceIntegrationTest {
         assertThat(bookings.get(3).getId(), is(in(List.of(2, 4, 5, 6, 7))));
     }
 
+    @Test
+    public void checkApproveBookingWritesOutboxEventDrainedByDispatcher() {
+        bookingService.approveBooking(3, true, 2);
+        em.flush();
+
+        List<BookingEvent> events = em.createQuery("SELECT e FROM BookingEvent AS e", BookingEvent.class)
+                .getResultList();
+        assertThat(events, hasSize(1));
+        assertThat(events.get(0).getType(), is(BookingEventType.STATUS_CHANGED));
+        assertThat(events.get(0).getBookingId(), is(3));
+        assertThat(events.get(0).getBookingVersion(), is(1));
+        assertThat(events.get(0).getPreviousStatus(), is(BookingStatus.WAITING));
+        assertThat(events.get(0).getStatus(), is(BookingStatus.APPROVED));
+
+        assertThat(outboxDispatcher.drain(), is(1));
+        assertThat(em.createQuery("SELECT e FROM BookingEvent AS e", BookingEvent.class).getResultList(), empty());
+    }
+
+    @Test
+    public void checkApproveFutureBookingWritesEventPerVersion() {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        BookingResponseDto saved = bookingService.saveBooking(makeBookingCreateDto(start, start.plusDays(1), 7, 2), 2);
+
+        bookingService.approveBooking(saved.getId(), true, 3);
+        em.flush();
+
+        List<BookingEvent> events = em.createQuery("SELECT e FROM BookingEvent AS e" +
+                        " WHERE e.bookingId = :bookingId ORDER BY e.bookingVersion", BookingEvent.class)
+                .setParameter("bookingId", saved.getId())
+                .getResultList();
+        assertThat(events, hasSize(2));
+        assertThat(events.get(0).getType(), is(BookingEventType.CREATED));
+        assertThat(events.get(0).getBookingVersion(), is(0));
+        assertThat(events.get(1).getType(), is(BookingEventType.STATUS_CHANGED));
+        assertThat(events.get(1).getBookingVersion(), is(1));
+        assertThat(events.get(1).getStatus(), is(BookingStatus.APPROVED));
+    }
+
+    @Test
+    public void checkExportBookingsByOwnerIdStreamsWholeHistoryInOrder() {
+        List<Integer> exported = new ArrayList<>();
+
+        bookingService.exportBookingsByOwnerId(3, "ALL", booking -> exported.add(booking.getId()));
+
+        assertThat(exported, contains(6, 7, 1, 5, 4));
+    }
+
+    @Test
+    public void checkExportBookingsByOwnerIdAndState() {
+        List<Integer> exported = new ArrayList<>();
+
+        bookingService.exportBookingsByOwnerId(3, "REJECTED", booking -> exported.add(booking.getId()));
+
+        assertThat(exported, contains(4));
+    }
+
     @Test
     public void checkGetBookingRequestsByUserIdPast() {
         List<BookingResponseDto> bookings = bookingService.getBookingRequestsByUserId(1, "PAST", 0, 5);
@@ -161,4 +229,69 @@ public class BookingServiceIntegrationTest {
         assertThat(booking, notNullValue());
         assertThat(booking.getId(), equalTo(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkGetBookingRequestsByUserIdAfterCursor() {
+        BookingResponseDto cursorBooking = bookingService.getBookingById(2, 1);
+        List<BookingResponseDto> bookings = bookingService.getBookingRequestsByUserId(1, "ALL",
+                new PageCursor(cursorBooking.getStart(), cursorBooking.getId()), 5);
+
+        assertThat(bookings, notNullValue());
+        assertThat(bookings.size(), equalTo(3));
+        assertThat(bookings.get(0).getId(), equalTo(7));
+        assertThat(bookings.get(1).getId(), equalTo(5));
+        assertThat(bookings.get(2).getId(), equalTo(4));
+    }
+
+    @Test
+    public void checkGetBookingsByOwnerIdAfterCursor() {
+        BookingResponseDto cursorBooking = bookingService.getBookingById(7, 3);
+        List<BookingResponseDto> bookings = bookingService.getBookingsByOwnerId(3, "ALL",
+                new PageCursor(cursorBooking.getStart(), cursorBooking.getId()), 2);
+
+        assertThat(bookings, notNullValue());
+        assertThat(bookings.size(), equalTo(2));
+        assertThat(bookings.get(0).getId(), equalTo(1));
+        assertThat(bookings.get(1).getId(), equalTo(5));
+    }
+
+    @Test
+    public void checkSavedAndApprovedBookingReachOwnerView() {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        BookingResponseDto saved = bookingService.saveBooking(makeBookingCreateDto(start, start.plusDays(1), 7, 2), 2);
+        em.flush();
+
+        List<BookingResponseDto> waiting = bookingService.getBookingsByOwnerId(3, "WAITING", 0, 5);
+        assertThat(waiting.size(), equalTo(1));
+        assertThat(waiting.get(0).getId(), equalTo(saved.getId()));
+        assertThat(waiting.get(0).getItem().getName(), equalTo("Фотоаппарат"));
+        assertThat(waiting.get(0).getBooker().getId(), equalTo(2));
+
+        bookingService.approveBooking(saved.getId(), true, 3);
+        em.flush();
+        em.clear();
+
+        assertThat(bookingService.getBookingsByOwnerId(3, "WAITING", 0, 5), empty());
+        List<BookingResponseDto> future = bookingService.getBookingsByOwnerId(3, "FUTURE", 0, 5);
+        assertThat(future.get(0).getId(), equalTo(saved.getId()));
+        assertThat(future.get(0).getStatus(), equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    public void checkSaveBookingOverlappingApproved() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThrows(UnavailableItemException.class,
+                () -> bookingService.saveBooking(makeBookingCreateDto(start, start.plusDays(1), 6, 2), 2));
+    }
+
+    @Test
+    public void checkSaveBookingAdjacentToApproved() {
+        BookingResponseDto approved = bookingService.getBookingById(6, 3);
+
+        BookingResponseDto booking = bookingService.saveBooking(makeBookingCreateDto(approved.getEnd(),
+                approved.getEnd().plusDays(1), 6, 2), 2);
+
+        assertThat(booking.getId(), notNullValue());
+    }
+}
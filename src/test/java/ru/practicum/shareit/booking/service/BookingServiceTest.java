@@ -5,23 +5,39 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityCache;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.lock.ItemLocks;
 import ru.practicum.shareit.exception.InvalidStatusException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.model.BookingEventType;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingEventRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.OwnerBookingRepository;
+import ru.practicum.shareit.booking.stats.BookingStatsCache;
+import ru.practicum.shareit.booking.view.OwnerBookingProjector;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static datas.ObjectMaker.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -34,11 +50,23 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserCache userCache;
     @Mock
     private UserService userService;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private BookingAvailabilityCache availabilityCache;
+    @Mock
+    private ItemLocks itemLocks;
+    @Mock
+    private BookingStatsCache statsCache;
+    @Mock
+    private BookingEventRepository bookingEventRepository;
+    @Mock
+    private OwnerBookingRepository ownerBookingRepository;
+    @Mock
+    private OwnerBookingProjector ownerBookingProjector;
 
     private User booker;
     private Item item;
@@ -48,7 +76,8 @@ class BookingServiceTest {
 
     @BeforeEach
     void setUp() {
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, userService, itemRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, userCache, userService, itemRepository,
+                availabilityCache, itemLocks, statsCache, bookingEventRepository, ownerBookingRepository, ownerBookingProjector);
         booker = makeUser(1, "Maria", "maria@ya.ru");
         User owner = makeUser(2, "Oleg", "oleg@ya.ru");
         item = makeItem(1, "item", "description", true, owner, null, null);
@@ -71,6 +100,9 @@ class BookingServiceTest {
 
         verify(bookingRepository).save(bookingWithoutId);
         verifyNoMoreInteractions(bookingRepository);
+        verify(bookingEventRepository).save(argThat(event -> event.getType() == BookingEventType.CREATED &&
+                event.getBookingId().equals(booking.getId()) && event.getStatus() == BookingStatus.WAITING));
+        verify(ownerBookingProjector).created(booking);
     }
 
     @Test
@@ -86,6 +118,21 @@ class BookingServiceTest {
         verifyNoInteractions(bookingRepository);
     }
 
+    @Test
+    public void checkSaveBookingOverlapsApproved() {
+        when(itemRepository.findById(1)).thenReturn(Optional.ofNullable(item));
+        when(userService.findById(booker.getId())).thenReturn(booker);
+        when(availabilityCache.hasOverlap(item.getId(), bookingDtoWithoutId.getStart(), bookingDtoWithoutId.getEnd()))
+                .thenReturn(true);
+
+        final var thrown = assertThrows(UnavailableItemException.class,
+                () -> bookingService.saveBooking(bookingDtoWithoutId, booker.getId()));
+        assertEquals("Item " + item.getId() + " is already booked between " + bookingDtoWithoutId.getStart() +
+                " and " + bookingDtoWithoutId.getEnd(), thrown.getMessage());
+
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     public void checkSaveBookingNotFoundItem() {
         final var thrown = assertThrows(NotFoundException.class,
@@ -99,16 +146,51 @@ class BookingServiceTest {
     @Test
     public void checkApproveBooking() {
         item.setOwner(booker);
+        bookingWithoutId.setOwnerId(booker.getId());
         bookingWithoutId.setId(1);
         booking.setStatus(BookingStatus.APPROVED);
-        when(bookingRepository.findById(bookingWithoutId.getId()))
+        when(bookingRepository.findWithItemAndBookerById(bookingWithoutId.getId()))
                 .thenReturn(Optional.of(bookingWithoutId));
 
         BookingResponseDto bookingFromDb = bookingService.approveBooking(bookingWithoutId.getId(), true, booker.getId());
         assertEquals(booking.getId(), bookingFromDb.getId());
 
-        verify(bookingRepository).findById(bookingWithoutId.getId());
+        verify(itemLocks).lockUntilCompletion(item.getId());
+        verify(availabilityCache).reserve(item.getId(), bookingWithoutId.getStart(), bookingWithoutId.getEnd());
+
+        verify(bookingRepository).findWithItemAndBookerById(bookingWithoutId.getId());
+        verify(bookingRepository).flush();
         verifyNoMoreInteractions(bookingRepository);
+        verify(bookingEventRepository).save(argThat(event -> event.getType() == BookingEventType.STATUS_CHANGED &&
+                event.getPreviousStatus() == BookingStatus.WAITING && event.getStatus() == BookingStatus.APPROVED));
+        verify(ownerBookingProjector).statusChanged(1, BookingStatus.APPROVED);
+    }
+
+    @Test
+    public void checkApproveBookingOverlapsApproved() {
+        item.setOwner(booker);
+        booking.setOwnerId(booker.getId());
+        when(bookingRepository.findWithItemAndBookerById(booking.getId())).thenReturn(Optional.of(booking));
+        when(availabilityCache.hasOverlap(item.getId(), booking.getStart(), booking.getEnd())).thenReturn(true);
+
+        assertThrows(UnavailableItemException.class,
+                () -> bookingService.approveBooking(booking.getId(), true, booker.getId()));
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+
+        verify(availabilityCache, never()).reserve(any(), any(), any());
+    }
+
+    @Test
+    public void checkRejectApprovedBookingReleasesItem() {
+        item.setOwner(booker);
+        booking.setOwnerId(booker.getId());
+        booking.setStatus(BookingStatus.APPROVED);
+        when(bookingRepository.findWithItemAndBookerById(booking.getId())).thenReturn(Optional.of(booking));
+
+        bookingService.approveBooking(booking.getId(), false, booker.getId());
+
+        assertEquals(BookingStatus.REJECTED, booking.getStatus());
+        verify(availabilityCache).release(item.getId());
     }
 
     @Test
@@ -117,7 +199,7 @@ class BookingServiceTest {
         Boolean isApproved = true;
         Integer ownerId = 1;
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> {
             bookingService.approveBooking(bookingId, isApproved, ownerId);
@@ -126,7 +208,7 @@ class BookingServiceTest {
 
     @Test
     public void checkApproveBookingAccessException() {
-        when(bookingRepository.findById(booking.getId()))
+        when(bookingRepository.findWithItemAndBookerById(booking.getId()))
                 .thenReturn(Optional.of(booking));
 
         final var thrown = assertThrows(NotFoundException.class,
@@ -134,7 +216,7 @@ class BookingServiceTest {
         assertEquals("Item " + booking.getItem().getId() +
                 " from booking " + booking.getId() + " doesn't belong you", thrown.getMessage());
 
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findWithItemAndBookerById(booking.getId());
         verifyNoMoreInteractions(bookingRepository);
     }
 
@@ -165,8 +247,9 @@ class BookingServiceTest {
     @Test
     public void checkApproveBookingAlreadyApprovedException() {
         item.setOwner(booker);
+        booking.setOwnerId(booker.getId());
         booking.setStatus(BookingStatus.APPROVED);
-        when(bookingRepository.findById(booking.getId()))
+        when(bookingRepository.findWithItemAndBookerById(booking.getId()))
                 .thenReturn(Optional.of(booking));
 
         final var thrown = assertThrows(ValidationException.class,
@@ -174,45 +257,45 @@ class BookingServiceTest {
         assertEquals("Booking " + booking.getId() +
                 " is already " + BookingStatus.APPROVED, thrown.getMessage());
 
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findWithItemAndBookerById(booking.getId());
         verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
     public void checkGetBookingById() {
-        when(bookingRepository.findById(booking.getId()))
+        when(bookingRepository.findWithItemAndBookerById(booking.getId()))
                 .thenReturn(Optional.of(booking));
 
         BookingResponseDto bookingFromDb = bookingService.getBookingById(booking.getId(), booker.getId());
         assertEquals(booking.getId(), bookingFromDb.getId());
 
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findWithItemAndBookerById(booking.getId());
         verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
     public void checkGetBookingByIdNoAccessException() {
         Integer alienId = 3;
-        when(bookingRepository.findById(booking.getId()))
+        when(bookingRepository.findWithItemAndBookerById(booking.getId()))
                 .thenReturn(Optional.of(booking));
 
         final var thrown = assertThrows(NotFoundException.class,
                 () -> bookingService.getBookingById(booking.getId(), alienId));
         assertEquals("No access to booking " + booking.getId(), thrown.getMessage());
 
-        verify(bookingRepository).findById(booking.getId());
+        verify(bookingRepository).findWithItemAndBookerById(booking.getId());
         verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
     public void checkGetBookingByIdNotFoundException() {
-        when(bookingRepository.findById(any())).thenReturn(Optional.empty());
+        when(bookingRepository.findWithItemAndBookerById(any())).thenReturn(Optional.empty());
 
         final var thrown = assertThrows(NotFoundException.class,
                 () -> bookingService.getBookingById(1, 1));
         assertEquals("Booking " + 1 + " not found", thrown.getMessage());
 
-        verify(bookingRepository).findById(any());
+        verify(bookingRepository).findWithItemAndBookerById(any());
         verifyNoMoreInteractions(bookingRepository);
     }
 
@@ -222,10 +305,71 @@ class BookingServiceTest {
         String state = "ALL";
         int from = 0;
         int size = 10;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        when(userCache.findById(ownerId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> {
             bookingService.getBookingsByOwnerId(ownerId, state, from, size);
         });
     }
+
+    @Test
+    public void checkApproveBookingsReturnsOutcomePerId() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        List<BookingApproval> bookings = List.of(
+                makeApproval(1, 1, BookingStatus.WAITING, start, start.plusDays(2)),
+                makeApproval(2, 1, BookingStatus.WAITING, start.plusDays(1), start.plusDays(3)),
+                makeApproval(3, 2, BookingStatus.APPROVED, start, start.plusDays(1)),
+                makeApproval(4, 3, BookingStatus.WAITING, start, start.plusDays(1)));
+        when(bookingRepository.findApprovalsByIdInAndOwnerId(Set.of(1, 2, 3, 4, 5), 2)).thenReturn(bookings);
+        when(availabilityCache.hasOverlap(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0).equals(3));
+        when(bookingRepository.updateStatusByIdIn(List.of(1), BookingStatus.APPROVED)).thenReturn(1);
+
+        List<BookingApprovalResultDto> results = bookingService.approveBookings(List.of(1, 2, 3, 4, 5, 1), true, 2);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), results.stream()
+                .map(BookingApprovalResultDto::getId)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(
+                        BookingApprovalResultDto.Outcome.UPDATED,
+                        BookingApprovalResultDto.Outcome.UNAVAILABLE,
+                        BookingApprovalResultDto.Outcome.UNCHANGED,
+                        BookingApprovalResultDto.Outcome.UNAVAILABLE,
+                        BookingApprovalResultDto.Outcome.NOT_FOUND),
+                results.stream().map(BookingApprovalResultDto::getOutcome).collect(Collectors.toList()));
+        assertEquals(BookingStatus.APPROVED, results.get(0).getStatus());
+        verify(itemLocks).lockAllUntilCompletion(Set.of(1, 2, 3));
+        verify(availabilityCache).reserve(1, start, start.plusDays(2));
+        verify(bookingRepository).updateStatusByIdIn(List.of(1), BookingStatus.APPROVED);
+        verify(bookingEventRepository).saveAll(argThat((List<BookingEvent> events) -> List.of(1).equals(
+                events.stream().map(BookingEvent::getBookingId).collect(Collectors.toList())) &&
+                events.get(0).getBookingVersion() == 1));
+    }
+
+    @Test
+    public void checkRejectBookingsReleasesApprovedPeriods() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(bookingRepository.findApprovalsByIdInAndOwnerId(Set.of(1, 2), 2)).thenReturn(List.of(
+                makeApproval(1, 1, BookingStatus.APPROVED, start, start.plusDays(1)),
+                makeApproval(2, 1, BookingStatus.WAITING, start, start.plusDays(1))));
+        when(bookingRepository.updateStatusByIdIn(List.of(1, 2), BookingStatus.REJECTED)).thenReturn(1);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> bookingService.approveBookings(List.of(1, 2), false, 2));
+
+        verify(availabilityCache).release(1);
+        verify(availabilityCache, never()).hasOverlap(any(), any(), any());
+        verifyNoInteractions(bookingEventRepository);
+    }
+
+    private BookingApproval makeApproval(Integer id, Integer itemId, BookingStatus status,
+                                         LocalDateTime start, LocalDateTime end) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BookingApproval.class, Map.of(
+                "id", id,
+                "itemId", itemId,
+                "status", status,
+                "start", start,
+                "end", end,
+                "version", 0));
+    }
 }
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.model.BookingStats;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingStatsCacheTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final AtomicLong time = new AtomicLong();
+    private BookingStatsCache statsCache;
+
+    @BeforeEach
+    void setUp() {
+        statsCache = new BookingStatsCache(bookingRepository, Duration.ofMinutes(1), 2, time::get);
+    }
+
+    @Test
+    public void checkCountsLoadedOnce() {
+        when(bookingRepository.countStatesByOwnerId(eq(1), any())).thenReturn(stats(5, 2, 2, 1, 0, 1));
+
+        Map<BookingState, Long> first = statsCache.getByOwnerId(1);
+        Map<BookingState, Long> second = statsCache.getByOwnerId(1);
+
+        assertEquals(5L, first.get(BookingState.ALL));
+        assertEquals(1L, first.get(BookingState.REJECTED));
+        assertEquals(first, second);
+        verify(bookingRepository).countStatesByOwnerId(eq(1), any());
+    }
+
+    @Test
+    public void checkCountsReloadedAfterTtl() {
+        when(bookingRepository.countStatesByBookerId(eq(1), any())).thenReturn(stats(1, 0, 0, 1, 1, 0));
+
+        statsCache.getByBookerId(1);
+        time.addAndGet(Duration.ofMinutes(1).toNanos());
+        statsCache.getByBookerId(1);
+
+        verify(bookingRepository, times(2)).countStatesByBookerId(eq(1), any());
+    }
+
+    @Test
+    public void checkWritesInvalidateCachedCounts() {
+        when(bookingRepository.countStatesByOwnerId(eq(1), any()))
+                .thenReturn(stats(1, 0, 0, 1, 1, 0), stats(2, 0, 0, 2, 1, 1));
+        when(bookingRepository.countStatesByBookerId(eq(2), any())).thenReturn(stats(0, 0, 0, 0, 0, 0));
+        statsCache.getByOwnerId(1);
+        statsCache.getByBookerId(2);
+
+        statsCache.invalidate(1, 2);
+
+        Map<BookingState, Long> owner = statsCache.getByOwnerId(1);
+        assertEquals(2L, owner.get(BookingState.ALL));
+        assertEquals(1L, owner.get(BookingState.REJECTED));
+        statsCache.getByBookerId(2);
+        verify(bookingRepository, times(2)).countStatesByOwnerId(eq(1), any());
+        verify(bookingRepository, times(2)).countStatesByBookerId(eq(2), any());
+    }
+
+    @Test
+    public void checkLoadOverlappingWriteNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        when(bookingRepository.countStatesByOwnerId(eq(1), any())).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                statsCache.invalidate(1, 2);
+            }
+            return stats(1, 0, 0, 1, 1, 0);
+        });
+
+        statsCache.getByOwnerId(1);
+        statsCache.getByOwnerId(1);
+        statsCache.getByOwnerId(1);
+
+        verify(bookingRepository, times(2)).countStatesByOwnerId(eq(1), any());
+    }
+
+    @Test
+    public void checkLeastRecentlyUsedEvicted() {
+        when(bookingRepository.countStatesByOwnerId(anyInt(), any())).thenReturn(stats(0, 0, 0, 0, 0, 0));
+        statsCache.getByOwnerId(1);
+        statsCache.getByOwnerId(2);
+        statsCache.getByOwnerId(1);
+
+        statsCache.getByOwnerId(3);
+        statsCache.getByOwnerId(1);
+        statsCache.getByOwnerId(2);
+
+        verify(bookingRepository, times(1)).countStatesByOwnerId(eq(1), any());
+        verify(bookingRepository, times(2)).countStatesByOwnerId(eq(2), any());
+    }
+
+    @Test
+    public void checkWritesIgnoredForUncachedUsers() {
+        statsCache.invalidate(1, 2);
+
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private BookingStats stats(long all, long current, long past, long future, long waiting, long rejected) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BookingStats.class, Map.of(
+                "all", all,
+                "current", current,
+                "past", past,
+                "future", future,
+                "waiting", waiting,
+                "rejected", rejected));
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.view;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.OwnerBookingRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerBookingProjectorTest {
+    @Mock
+    private OwnerBookingRepository ownerBookingRepository;
+
+    @Test
+    public void rebuildShouldLockTableBeforeReplacingRows() {
+        when(ownerBookingRepository.insertAllFromBookings()).thenReturn(7);
+
+        assertEquals(7, new OwnerBookingProjector(ownerBookingRepository, true).rebuild());
+
+        InOrder inOrder = inOrder(ownerBookingRepository);
+        inOrder.verify(ownerBookingRepository).lockForRebuild();
+        inOrder.verify(ownerBookingRepository).deleteAllInBatch();
+        inOrder.verify(ownerBookingRepository).insertAllFromBookings();
+    }
+
+    @Test
+    public void rebuildShouldSkipLockWhenDisabled() {
+        new OwnerBookingProjector(ownerBookingRepository, false).rebuild();
+
+        verify(ownerBookingRepository, never()).lockForRebuild();
+        verify(ownerBookingRepository).insertAllFromBookings();
+    }
+}
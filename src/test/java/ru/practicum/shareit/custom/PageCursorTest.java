@@ -0,0 +1,35 @@
+package ru.practicum.shareit.custom;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+    @Test
+    void encodeDecodeWithTime() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 10, 10, 10, 10, 10), 42);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(LocalDateTime.of(2024, 10, 10, 10, 10, 10), decoded.getTime());
+        assertEquals(42, decoded.getId());
+    }
+
+    @Test
+    void encodeDecodeIdOnly() {
+        PageCursor decoded = PageCursor.decode(new PageCursor(7).encode());
+
+        assertEquals(7, decoded.getId());
+        assertThrows(ValidationException.class, decoded::getTime);
+    }
+
+    @Test
+    void decodeInvalidToken() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(ValidationException.class, () -> PageCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.MalformedRowException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemBatchRowsTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void checkUnboundRowIsRejectedAndReadingGoesOn() throws IOException {
+        ItemBatchRows rows = rows("{\"name\":\"drill\"}\n{\"available\":\"maybe\"}\n{\"name\":\"saw\"}\n");
+
+        assertThat(rows.next().getName(), is("drill"));
+        MalformedRowException e = assertThrows(MalformedRowException.class, rows::next);
+        assertThat(e.isLast(), is(false));
+        assertThat(rows.next().getName(), is("saw"));
+        assertThat(rows.hasNext(), is(false));
+    }
+
+    @Test
+    public void checkSyntaxErrorEndsRows() throws IOException {
+        ItemBatchRows rows = rows("{\"name\":\"drill\"}\n{\"name\": }\n{\"name\":\"saw\"}\n");
+
+        assertThat(rows.next().getName(), is("drill"));
+        MalformedRowException e = assertThrows(MalformedRowException.class, rows::next);
+        assertThat(e.isLast(), is(true));
+        assertThat(rows.hasNext(), is(false));
+    }
+
+    @Test
+    public void checkReadAllReplaysRowsInOrder() throws IOException {
+        Iterator<ItemDto> rows = ItemBatchRows.readAll(objectMapper.readerFor(ItemDto.class)
+                .readValues("{\"name\":\"drill\"}\n{\"available\":\"maybe\"}\n{\"name\":\"saw\"}\n"), 3);
+
+        assertThat(rows.next().getName(), is("drill"));
+        assertThrows(MalformedRowException.class, rows::next);
+        assertThat(rows.next().getName(), is("saw"));
+        assertThat(rows.hasNext(), is(false));
+    }
+
+    @Test
+    public void checkReadAllRejectsTooManyRows() throws IOException {
+        MappingIterator<ItemDto> items = objectMapper.readerFor(ItemDto.class)
+                .readValues("{\"name\":\"drill\"}\n{\"name\":\"saw\"}\n");
+
+        assertThrows(ValidationException.class, () -> ItemBatchRows.readAll(items, 1));
+    }
+
+    private ItemBatchRows rows(String content) throws IOException {
+        return new ItemBatchRows(objectMapper.readerFor(ItemDto.class).readValues(content));
+    }
+}
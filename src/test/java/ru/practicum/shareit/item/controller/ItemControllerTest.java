@@ -15,12 +15,15 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.constants.Constants;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemBatchService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.RequestService;
@@ -29,9 +32,15 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -51,6 +60,8 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
     @MockBean
+    private ItemBatchService itemBatchService;
+    @MockBean
     private UserService userService;
     @MockBean
     private BookingService bookingService;
@@ -258,4 +269,53 @@ class ItemControllerTest {
 
         verify(itemService).delete(1, 1);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkSaveBatchFromJsonArray() throws Exception {
+        checkSaveBatch(MediaType.APPLICATION_JSON,
+                gson.toJson(List.of(itemDtoWithoutId, itemDto)));
+    }
+
+    @Test
+    public void checkSaveBatchFromNdjson() throws Exception {
+        checkSaveBatch(MediaType.APPLICATION_NDJSON,
+                gson.toJson(itemDtoWithoutId) + "\n" + gson.toJson(itemDto) + "\n");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void checkSaveBatch(MediaType contentType, String content) throws Exception {
+        List<ItemDto> received = new ArrayList<>();
+        List<ItemBatchResultDto> results = List.of(
+                new ItemBatchResultDto(0, 2, ItemBatchResultDto.Status.CREATED, null),
+                new ItemBatchResultDto(1, 1, ItemBatchResultDto.Status.UPDATED, null));
+        when(itemBatchService.saveBatch(eq(user.getId()), any())).thenAnswer(invocation -> {
+            invocation.<Iterator<ItemDto>>getArgument(1).forEachRemaining(received::add);
+            return results;
+        });
+
+        mockMvc.perform(post("/items/batch")
+                        .content(content)
+                        .contentType(contentType)
+                        .header(USER_ID_HEADER, user.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(gson.toJson(results)));
+
+        verify(itemBatchService).saveBatch(eq(user.getId()), any(Iterator.class));
+        verifyNoInteractions(itemService);
+        assertThat(received, contains(itemDtoWithoutId, itemDto));
+    }
+
+    @Test
+    public void checkSaveBatchRejectsOversizedBody() throws Exception {
+        String content = "{\"name\":\"drill\"}\n".repeat(Constants.BATCH_MAX_SIZE + 1);
+
+        mockMvc.perform(post("/items/batch")
+                        .content(content)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(USER_ID_HEADER, user.getId()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemBatchService);
+    }
+}
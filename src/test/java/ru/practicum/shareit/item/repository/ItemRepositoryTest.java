@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.repository;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -7,9 +8,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -36,4 +41,48 @@ class ItemRepositoryTest {
         assertThat(items.getContent().get(1).getId(), is(in(List.of(7, 8))));
         assertThat(items.getContent().get(1).getName(), is(in(List.of("Фотоаппарат", "Фото- и видеокамера"))));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkFindWithCommentsById() {
+        addComments();
+
+        Item item = itemRepository.findWithCommentsById(2).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(item.getOwner()), is(true));
+        assertThat(Hibernate.isInitialized(item.getComments()), is(true));
+        assertThat(item.getComments().size(), equalTo(2));
+        assertThat(item.getComments().stream().allMatch(comment -> Hibernate.isInitialized(comment.getAuthor())),
+                is(true));
+    }
+
+    @Test
+    public void checkFindAllWithCommentsByIdIn() {
+        addComments();
+
+        List<Item> items = itemRepository.findAllWithCommentsByIdIn(List.of(2, 6));
+
+        assertThat(items.size(), equalTo(2));
+        assertThat(items.stream().map(Item::getId).collect(Collectors.toList()), containsInAnyOrder(2, 6));
+        assertThat(items.stream().allMatch(item -> Hibernate.isInitialized(item.getComments())), is(true));
+    }
+
+    @Test
+    public void checkFindAllWithCommentsByRequestIdIn() {
+        List<Item> items = itemRepository.findAllWithCommentsByRequestIdIn(List.of(1, 2));
+
+        assertThat(items.size(), equalTo(1));
+        assertThat(items.get(0).getId(), equalTo(1));
+        assertThat(items.get(0).getItemRequest().getId(), equalTo(1));
+        assertThat(Hibernate.isInitialized(items.get(0).getComments()), is(true));
+    }
+
+    private void addComments() {
+        Item item = em.find(Item.class, 2);
+        em.persist(Comment.builder().text("Отличный").item(item).author(em.find(User.class, 1))
+                .created(LocalDateTime.now()).build());
+        em.persist(Comment.builder().text("Быстрый").item(item).author(em.find(User.class, 2))
+                .created(LocalDateTime.now()).build());
+        em.flush();
+        em.clear();
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import ru.practicum.shareit.custom.CustomPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static datas.ObjectMaker.makeItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final Item item = makeItem(1, "Дрель", "На аккумуляторе", true, null, null, null);
+
+    @Test
+    void searchShouldUseTrigramQueryWhenEnabled() {
+        ItemSearchEngine searchEngine = new DatabaseItemSearchEngine(itemRepository, true);
+        when(itemRepository.searchAvailableByTrigram("дрель", 0, 5)).thenReturn(List.of(item));
+
+        List<Item> items = searchEngine.search("дрель", 0, 5);
+
+        assertEquals(List.of(item), items);
+        verify(itemRepository).searchAvailableByTrigram("дрель", 0, 5);
+        verifyNoMoreInteractions(itemRepository);
+    }
+
+    @Test
+    void searchShouldFallBackToJpqlWhenTrigramDisabled() {
+        ItemSearchEngine searchEngine = new DatabaseItemSearchEngine(itemRepository, false);
+        when(itemRepository.getAllByTemplate(eq("дрель"), any(CustomPageRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(item)));
+
+        List<Item> items = searchEngine.search("дрель", 0, 5);
+
+        assertEquals(List.of(item), items);
+        verify(itemRepository).getAllByTemplate(eq("дрель"), any(CustomPageRequest.class));
+        verifyNoMoreInteractions(itemRepository);
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static datas.ObjectMaker.makeItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+    private InMemoryItemSearchEngine searchEngine;
+    @Mock
+    private ItemRepository itemRepository;
+
+    private Item camera;
+    private Item photo;
+    private Item bike;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new InMemoryItemSearchEngine(itemRepository);
+        camera = makeItem(1, "Фото- и видеокамера", "Nikon", true, null, null, null);
+        photo = makeItem(2, "Фотоаппарат", "Пленочный", true, null, null, null);
+        bike = makeItem(3, "Велик", "Старый велосипед для фотосессии", true, null, null, null);
+        searchEngine.index(camera);
+        searchEngine.index(photo);
+        searchEngine.index(bike);
+    }
+
+    @Test
+    void searchShouldRankNameMatchesFirst() {
+        when(itemRepository.findAllById(List.of(1, 2, 3))).thenReturn(List.of(bike, camera, photo));
+
+        List<Item> items = searchEngine.search("ФоТо", 0, 5);
+
+        assertEquals(List.of(camera, photo, bike), items);
+    }
+
+    @Test
+    void searchShouldMatchSubstringInsideWord() {
+        when(itemRepository.findAllById(List.of(1))).thenReturn(List.of(camera));
+
+        List<Item> items = searchEngine.search("камера", 0, 5);
+
+        assertEquals(List.of(camera), items);
+    }
+
+    @Test
+    void searchShouldRequireAllTerms() {
+        when(itemRepository.findAllById(List.of(3))).thenReturn(List.of(bike));
+
+        List<Item> items = searchEngine.search("вело фото", 0, 5);
+
+        assertEquals(List.of(bike), items);
+    }
+
+    @Test
+    void searchShouldNotMatchAcrossNameAndDescription() {
+        List<Item> items = searchEngine.search("камераnikon", 0, 5);
+
+        assertTrue(items.isEmpty());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void searchShouldMatchShortTermsAnywhereInWord() {
+        when(itemRepository.findAllById(List.of(1))).thenReturn(List.of(camera));
+
+        List<Item> items = searchEngine.search("KO", 0, 5);
+
+        assertEquals(List.of(camera), items);
+    }
+
+    @Test
+    void searchShouldApplyPagination() {
+        when(itemRepository.findAllById(List.of(2))).thenReturn(List.of(photo));
+
+        List<Item> items = searchEngine.search("фото", 1, 1);
+
+        assertEquals(List.of(photo), items);
+    }
+
+    @Test
+    void searchShouldRankWholeResultBeforePaging() {
+        when(itemRepository.findAllById(List.of(3))).thenReturn(List.of(bike));
+
+        List<Item> items = searchEngine.search("фото", 2, 5);
+
+        assertEquals(List.of(bike), items);
+    }
+
+    @Test
+    void indexShouldDropUnavailableItem() {
+        photo.setAvailable(false);
+        searchEngine.index(photo);
+        when(itemRepository.findAllById(any())).thenReturn(List.of(camera, bike));
+
+        List<Item> items = searchEngine.search("фото", 0, 5);
+
+        assertEquals(List.of(camera, bike), items);
+        verify(itemRepository).findAllById(List.of(1, 3));
+    }
+
+    @Test
+    void removeShouldDropItemFromIndex() {
+        searchEngine.remove(1);
+
+        List<Item> items = searchEngine.search("камера", 0, 5);
+
+        assertTrue(items.isEmpty());
+    }
+}
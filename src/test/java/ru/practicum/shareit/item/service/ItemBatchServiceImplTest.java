@@ -0,0 +1,159 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.view.OwnerBookingProjector;
+import ru.practicum.shareit.exception.MalformedRowException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.cache.UserCache;
+import ru.practicum.shareit.user.model.User;
+
+import javax.validation.Validation;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static datas.ObjectMaker.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBatchServiceImplTest {
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private RequestRepository requestRepository;
+    @Mock
+    private UserCache userCache;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private OwnerBookingProjector ownerBookingProjector;
+
+    private ItemBatchService itemBatchService;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        itemBatchService = new ItemBatchServiceImpl(itemRepository, requestRepository, userCache, itemSearchEngine,
+                ownerBookingProjector, Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2);
+        owner = makeUser(1, "Dmitry", "dmitry@ya.ru");
+    }
+
+    @Test
+    public void saveBatchShouldReturnResultForEveryRow() {
+        User requester = makeUser(2, "Ivan", "ivan@ya.ru");
+        ItemRequest request = makeRequest(5, "request", LocalDateTime.now(), requester, null);
+        Item owned = makeItem(1, "item1", "description1", true, owner, null, null);
+        Item alien = makeItem(2, "item2", "description2", true, requester, null, null);
+        AtomicInteger ids = new AtomicInteger(100);
+        when(userCache.findById(1)).thenReturn(Optional.of(owner));
+        when(requestRepository.findAllById(Set.of(5))).thenReturn(List.of(request));
+        when(requestRepository.findAllById(Set.of(9))).thenReturn(List.of());
+        when(itemRepository.findAllById(Set.of(1))).thenReturn(List.of(owned));
+        when(itemRepository.findAllById(Set.of(2))).thenReturn(List.of(alien));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            items.forEach(item -> item.setId(ids.getAndIncrement()));
+            return items;
+        });
+
+        List<ItemBatchResultDto> results = itemBatchService.saveBatch(1, List.of(
+                makeItemDto(null, "drill", "cordless drill", true, 5),
+                makeItemDto(null, " ", "no name", true, null),
+                makeItemDto(null, "saw", "hand saw", true, 9),
+                makeItemDto(1, "updated", null, null, null),
+                makeItemDto(2, "stolen", null, null, null)).iterator());
+
+        assertThat(results, hasSize(5));
+        assertThat(results.get(0), is(new ItemBatchResultDto(0, 100, ItemBatchResultDto.Status.CREATED, null)));
+        assertThat(results.get(1).getStatus(), is(ItemBatchResultDto.Status.REJECTED));
+        assertThat(results.get(1).getError(), is("Имя не может быть пустым"));
+        assertThat(results.get(2).getStatus(), is(ItemBatchResultDto.Status.REJECTED));
+        assertThat(results.get(2).getError(), containsString("9"));
+        assertThat(results.get(3), is(new ItemBatchResultDto(3, 1, ItemBatchResultDto.Status.UPDATED, null)));
+        assertThat(owned.getName(), is("updated"));
+        assertThat(owned.getDescription(), is("description1"));
+        assertThat(results.get(4).getStatus(), is(ItemBatchResultDto.Status.REJECTED));
+        assertThat(alien.getName(), is("item2"));
+        verify(itemSearchEngine, times(2)).index(any(Item.class));
+        verify(ownerBookingProjector).itemChanged(owned);
+        verify(itemRepository, times(3)).saveAll(anyList());
+        verify(requestRepository, times(2)).findAllById(anySet());
+        verify(itemRepository, times(2)).findAllById(anySet());
+    }
+
+    @Test
+    public void saveBatchShouldRejectMalformedRowsAndKeepEarlierRows() {
+        Iterator<ItemDto> rows = new Iterator<>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                return row < 4;
+            }
+
+            @Override
+            public ItemDto next() {
+                switch (row++) {
+                    case 0:
+                        return makeItemDto(null, "drill", "cordless drill", true, null);
+                    case 1:
+                        throw new MalformedRowException("bad available", false);
+                    case 2:
+                        return makeItemDto(null, "saw", "hand saw", true, null);
+                    default:
+                        throw new MalformedRowException("unexpected end", true);
+                }
+            }
+        };
+        AtomicInteger ids = new AtomicInteger(100);
+        when(userCache.findById(1)).thenReturn(Optional.of(owner));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            items.forEach(item -> item.setId(ids.getAndIncrement()));
+            return items;
+        });
+
+        List<ItemBatchResultDto> results = itemBatchService.saveBatch(1, rows);
+
+        assertThat(results, hasSize(4));
+        assertThat(results.get(0), is(new ItemBatchResultDto(0, 100, ItemBatchResultDto.Status.CREATED, null)));
+        assertThat(results.get(1), is(new ItemBatchResultDto(1, null, ItemBatchResultDto.Status.REJECTED,
+                "Malformed row: bad available")));
+        assertThat(results.get(2), is(new ItemBatchResultDto(2, 101, ItemBatchResultDto.Status.CREATED, null)));
+        assertThat(results.get(3).getStatus(), is(ItemBatchResultDto.Status.REJECTED));
+        verifyNoInteractions(requestRepository);
+    }
+
+    @Test
+    public void saveBatchShouldThrowForUnknownUser() {
+        when(userCache.findById(7)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemBatchService.saveBatch(7, List.<ItemDto>of().iterator()));
+        verifyNoInteractions(itemRepository, requestRepository);
+    }
+}
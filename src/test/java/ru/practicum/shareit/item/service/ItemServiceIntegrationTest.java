@@ -4,8 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
@@ -24,6 +26,8 @@ public class ItemServiceIntegrationTest {
     private EntityManager em;
     @Autowired
     private ItemService itemService;
+    @Autowired
+    private InMemoryItemSearchEngine itemSearchEngine;
 
     @Test
     public void checkGetAllByUserIdTwoItems() {
@@ -49,6 +53,7 @@ public class ItemServiceIntegrationTest {
 
     @Test
     public void checkGetAllByTemplate() {
+        itemSearchEngine.rebuild();
         List<ItemDto> items = itemService.searchItem(2,"веЛо", 0, 2);
 
         assertThat(items, notNullValue());
@@ -56,4 +61,28 @@ public class ItemServiceIntegrationTest {
         assertThat(items.get(0).getId(), equalTo(3));
         assertThat(items.get(0).getName(), equalTo("Велик"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkGetAllByUserIdWithBookings() {
+        List<ItemResponseDto> items = itemService.findAllItems(3, 0, 5);
+
+        assertThat(items, notNullValue());
+        assertThat(items.size(), equalTo(5));
+        assertThat(items.get(0).getId(), equalTo(2));
+        assertThat(items.get(0).getLastBooking().getId(), equalTo(1));
+        assertThat(items.get(0).getNextBooking(), nullValue());
+        assertThat(items.get(3).getId(), equalTo(6));
+        assertThat(items.get(3).getLastBooking().getId(), equalTo(7));
+        assertThat(items.get(3).getNextBooking().getId(), equalTo(6));
+    }
+
+    @Test
+    public void checkGetAllByUserIdAfterCursor() {
+        List<ItemResponseDto> items = itemService.findAllItems(3, new PageCursor(4), 2);
+
+        assertThat(items, notNullValue());
+        assertThat(items.size(), equalTo(2));
+        assertThat(items.get(0).getId(), equalTo(5));
+        assertThat(items.get(1).getId(), equalTo(6));
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.view.OwnerBookingProjector;
 import ru.practicum.shareit.exception.UnauthorizedException;
 import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.booking.model.Booking;
@@ -20,9 +21,10 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -43,13 +45,17 @@ class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserCache userCache;
     @Mock
     private BookingService bookingService;
     @Mock
     private CommentRepository commentRepository;
     @Mock
     private RequestService requestService;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private OwnerBookingProjector ownerBookingProjector;
 
     private Item item;
     private Item item2;
@@ -61,7 +67,8 @@ class ItemServiceTest {
 
     @BeforeEach
     void setUp() {
-        itemService = new ItemServiceImpl(bookingRepository, itemRepository, userRepository, bookingService, commentRepository, requestService);
+        itemService = new ItemServiceImpl(bookingRepository, itemRepository, userCache, bookingService, commentRepository,
+                requestService, itemSearchEngine, ownerBookingProjector);
         User user = makeUser(1, "Dmitry", "dmitry@ya.ru");
         userForTest = makeUser(2, "Ivan", "ivan@ya.ru");
         itemWithoutId = makeItem(null, "item1", "description1", true,
@@ -81,12 +88,13 @@ class ItemServiceTest {
     @Test
     public void checkSaveItem() {
         when(itemRepository.save(itemWithoutIdUser2)).thenReturn(item2);
-        when(userRepository.findById(2)).thenReturn(Optional.ofNullable(userForTest));
+        when(userCache.findById(2)).thenReturn(Optional.ofNullable(userForTest));
 
         Item savedItem = itemService.create(itemWithoutIdDto, userForTest.getId());
 
         assertEquals(item2, savedItem);
         verify(itemRepository).save(itemWithoutIdUser2);
+        verify(itemSearchEngine).index(item2);
         verifyNoMoreInteractions(itemRepository);
     }
 
@@ -94,15 +102,16 @@ class ItemServiceTest {
     public void checkUpdateItem() {
         item2.setName("updated");
         item2.setDescription("updated");
-        when(userRepository.findById(2)).thenReturn(Optional.ofNullable(userForTest));
+        when(userCache.findById(2)).thenReturn(Optional.ofNullable(userForTest));
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item2));
 
         Item updatedItem = itemService.update(item3, 2, 1);
 
         assertEquals(item2, updatedItem);
-        verify(userRepository, times(2)).findById(2);
+        verify(userCache).findById(2);
         verify(itemRepository).findById(item.getId());
         verifyNoMoreInteractions(itemRepository);
+        verify(ownerBookingProjector).itemChanged(item2);
     }
 
     @Test
@@ -121,7 +130,7 @@ class ItemServiceTest {
                 BookingStatus.APPROVED, item, booker);
         when(bookingRepository.findAllPastByBooker(booker)).thenReturn(List.of(booking));
         when(commentRepository.save(any())).thenReturn(commentAfterSave);
-        when(userRepository.findById(1)).thenReturn(Optional.ofNullable(booker));
+        when(userCache.findById(1)).thenReturn(Optional.ofNullable(booker));
         when(itemRepository.findById(1)).thenReturn(Optional.ofNullable(item));
 
         Comment savedComment = itemService.saveComment(1, commentDtoBeforeSave, 1);
@@ -139,7 +148,7 @@ class ItemServiceTest {
         Comment commentBeforeSave = makeComment(null, "comment", item, booker, LocalDateTime.now());
         CommentCreateDto commentDtoBeforeSave = makeCreateComment("comment");
         when(bookingRepository.findAllPastByBooker(booker)).thenReturn(Collections.emptyList());
-        when(userRepository.findById(1)).thenReturn(Optional.of(booker));
+        when(userCache.findById(1)).thenReturn(Optional.of(booker));
         when(itemRepository.findById(1)).thenReturn(Optional.of(item));
 
         final var thrown = assertThrows(UnavailableItemException.class,
@@ -153,39 +162,39 @@ class ItemServiceTest {
 
     @Test
     void findItemByUserIdAndItemIdNotOwner() {
-        when(userRepository.findById(2)).thenReturn(Optional.of(userForTest));
-        when(itemRepository.findById(1)).thenReturn(Optional.of(item));
+        when(userCache.findById(2)).thenReturn(Optional.of(userForTest));
+        when(itemRepository.findWithCommentsById(1)).thenReturn(Optional.of(item));
 
         ItemResponseDto responseDto = itemService.findItemByUserIdAndItemId(1, 2);
 
         assertEquals(ItemMapper.INSTANCE.toItemResponseDto(item, null, null), responseDto);
 
-        verify(userRepository).findById(2);
-        verify(itemRepository).findById(1);
+        verify(userCache).findById(2);
+        verify(itemRepository).findWithCommentsById(1);
         verify(bookingService, never()).getLastBookingByItem(item);
         verify(bookingService, never()).getNextBookingByItem(item);
     }
 
     @Test
     void findItemByUserIdAndItemIdUserNotFound() {
-        when(userRepository.findById(1)).thenReturn(Optional.empty());
+        when(userCache.findById(1)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.findItemByUserIdAndItemId(1, 1));
 
-        verify(userRepository).findById(1);
+        verify(userCache).findById(1);
         verifyNoInteractions(itemRepository);
         verifyNoInteractions(bookingService);
     }
 
     @Test
     void findItemByUserIdAndItemIdItemNotFound() {
-        when(userRepository.findById(2)).thenReturn(Optional.of(userForTest));
-        when(itemRepository.findById(1)).thenReturn(Optional.empty());
+        when(userCache.findById(2)).thenReturn(Optional.of(userForTest));
+        when(itemRepository.findWithCommentsById(1)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.findItemByUserIdAndItemId(1, 2));
 
-        verify(userRepository).findById(2);
-        verify(itemRepository).findById(1);
+        verify(userCache).findById(2);
+        verify(itemRepository).findWithCommentsById(1);
         verifyNoInteractions(bookingService);
     }
 
@@ -199,6 +208,7 @@ class ItemServiceTest {
         itemService.delete(itemId, userId);
 
         verify(itemRepository, times(1)).deleteById(itemId);
+        verify(itemSearchEngine).remove(itemId);
     }
 
     @Test
@@ -222,4 +232,27 @@ class ItemServiceTest {
         assertThrows(NotFoundException.class, () -> itemService.delete(itemId, userId));
         verify(itemRepository, never()).deleteById(itemId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchItemShouldUseSearchEngine() {
+        when(userCache.findById(1)).thenReturn(Optional.of(userForTest));
+        when(itemSearchEngine.search("item", 0, 5)).thenReturn(List.of(item));
+
+        List<ItemDto> items = itemService.searchItem(1, "item", 0, 5);
+
+        assertEquals(1, items.size());
+        assertEquals(item.getId(), items.get(0).getId());
+        verify(itemSearchEngine).search("item", 0, 5);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void searchItemBlankTextShouldReturnEmptyList() {
+        when(userCache.findById(1)).thenReturn(Optional.of(userForTest));
+
+        List<ItemDto> items = itemService.searchItem(1, " ", 0, 5);
+
+        assertTrue(items.isEmpty());
+        verifyNoInteractions(itemSearchEngine);
+    }
+}
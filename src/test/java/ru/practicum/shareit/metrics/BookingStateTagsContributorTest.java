@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.shareit.booking.controller.BookingController;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingStateTagsContributorTest {
+    private final BookingStateTagsContributor contributor = new BookingStateTagsContributor();
+
+    @Test
+    public void checkKnownState() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/owner");
+        request.setParameter("state", "PAST");
+
+        assertEquals("PAST", stateTag(request, null));
+    }
+
+    @Test
+    public void checkUnknownStateCollapsed() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/owner");
+        request.setParameter("state", "UNSUPPORTED_STATUS");
+
+        assertEquals(BookingStateTagsContributor.INVALID, stateTag(request, null));
+    }
+
+    @Test
+    public void checkDefaultStateFromHandler() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/owner");
+        Method method = Arrays.stream(BookingController.class.getMethods())
+                .filter(candidate -> candidate.getName().equals("getMyBookings"))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals("ALL", stateTag(request, new HandlerMethod(new Object(), method)));
+    }
+
+    @Test
+    public void checkNoState() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+
+        assertEquals(BookingStateTagsContributor.NONE, stateTag(request, null));
+    }
+
+    private String stateTag(MockHttpServletRequest request, Object handler) {
+        Tag tag = contributor.getTags(request, new MockHttpServletResponse(), handler, null).iterator().next();
+        assertEquals("state", tag.getKey());
+        return tag.getValue();
+    }
+}
@@ -13,7 +13,9 @@ import datas.LocalDateAdapter;
 import datas.LocalDateTimeAdapter;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
 import ru.practicum.shareit.request.service.RequestService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -124,4 +126,21 @@ class ItemRequestControllerTest {
         verifyNoMoreInteractions(userService);
         verifyNoMoreInteractions(requestService);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkGetMatches() throws Exception {
+        LocalDateTime created = LocalDateTime.of(2022, 10, 10, 10, 10, 10);
+        when(requestService.getMatchesByOwner(requester.getId(), 0, 5)).thenReturn(List.of(RequestMatch.builder()
+                .id(1).requestId(2).itemId(3).ownerId(requester.getId()).score(2).created(created).build()));
+
+        mockMvc.perform(get("/requests/matches")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID_HEADER, requester.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(gson.toJson(List.of(RequestMatchDto.builder()
+                        .requestId(2).itemId(3).score(2).created(created).build()))));
+
+        verify(requestService).getMatchesByOwner(requester.getId(), 0, 5);
+        verifyNoMoreInteractions(requestService);
+    }
+}
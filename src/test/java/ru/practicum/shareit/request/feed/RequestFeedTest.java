@@ -0,0 +1,93 @@
+package ru.practicum.shareit.request.feed;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
+import ru.practicum.shareit.request.repository.RequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static datas.ObjectMaker.makeItemRequest;
+import static datas.ObjectMaker.makeUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestFeedTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    @Mock
+    private RequestRepository requestRepository;
+
+    private RequestFeed requestFeed;
+
+    @BeforeEach
+    void setUp() {
+        requestFeed = new RequestFeed(requestRepository, 3);
+    }
+
+    @Test
+    public void checkFeedSkipsOwnRequests() {
+        when(requestRepository.findRecent(PageRequest.of(0, 3))).thenReturn(List.of(
+                summary(3, DAY.plusHours(3), 1),
+                summary(2, DAY.plusHours(2), 2)));
+
+        assertEquals(Optional.of(List.of(2)), requestFeed.findAlien(1, 0, 5));
+        assertEquals(Optional.of(List.of(3)), requestFeed.findAlien(2, 0, 5));
+        assertEquals(Optional.of(List.of(2)), requestFeed.findAlien(3, 1, 5));
+        verify(requestRepository).findRecent(any());
+    }
+
+    @Test
+    public void checkPagePastBufferLeftToDatabase() {
+        when(requestRepository.findRecent(PageRequest.of(0, 3))).thenReturn(List.of(
+                summary(3, DAY.plusHours(3), 1),
+                summary(2, DAY.plusHours(2), 2),
+                summary(1, DAY.plusHours(1), 2)));
+
+        assertEquals(Optional.of(List.of(3, 2)), requestFeed.findAlien(3, 0, 2));
+        assertEquals(Optional.empty(), requestFeed.findAlien(3, 2, 2));
+        assertEquals(Optional.of(List.of(2)), requestFeed.findAlienAfter(3, DAY.plusHours(3), 3, 1));
+        assertEquals(Optional.empty(), requestFeed.findAlienAfter(3, DAY.plusHours(2), 2, 2));
+    }
+
+    @Test
+    public void checkAddedRequestsEvictOldest() {
+        when(requestRepository.findRecent(PageRequest.of(0, 3))).thenReturn(List.of(
+                summary(2, DAY.plusHours(2), 2),
+                summary(1, DAY.plusHours(1), 2)));
+        requestFeed.findAlien(1, 0, 1);
+
+        requestFeed.add(makeItemRequest(4, "new", DAY.plusHours(4), makeUser(3, "Ivan", "ivan@ya.ru"), null));
+        requestFeed.add(makeItemRequest(3, "late", DAY.plusHours(3), makeUser(3, "Ivan", "ivan@ya.ru"), null));
+        requestFeed.add(makeItemRequest(3, "late", DAY.plusHours(3), makeUser(3, "Ivan", "ivan@ya.ru"), null));
+
+        assertEquals(Optional.of(List.of(4, 3, 2)), requestFeed.findAlien(1, 0, 3));
+        assertEquals(Optional.empty(), requestFeed.findAlien(1, 0, 4));
+        assertEquals(Optional.of(List.of(2)), requestFeed.findAlien(3, 0, 1));
+    }
+
+    @Test
+    public void checkAddBeforeLoadIgnored() {
+        when(requestRepository.findRecent(PageRequest.of(0, 3))).thenReturn(List.of());
+
+        requestFeed.add(makeItemRequest(1, "new", DAY, makeUser(3, "Ivan", "ivan@ya.ru"), null));
+
+        assertEquals(Optional.of(List.of()), requestFeed.findAlien(1, 0, 5));
+    }
+
+    private ItemRequestSummary summary(Integer id, LocalDateTime created, Integer requesterId) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemRequestSummary.class, Map.of(
+                "id", id,
+                "created", created,
+                "requesterId", requesterId));
+    }
+}
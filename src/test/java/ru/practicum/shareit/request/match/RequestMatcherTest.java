@@ -0,0 +1,85 @@
+package ru.practicum.shareit.request.match;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.RequestMatch;
+import ru.practicum.shareit.request.repository.RequestMatchRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static datas.ObjectMaker.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestMatcherTest {
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private RequestMatchRepository requestMatchRepository;
+
+    private RequestMatcher requestMatcher;
+    private User requester;
+    private Map<String, List<Item>> index;
+
+    @BeforeEach
+    void setUp() {
+        requestMatcher = new RequestMatcher(itemSearchEngine, requestMatchRepository, 10, Runnable::run);
+        requester = makeUser(1, "Petr", "petr@ya.ru");
+        User anna = makeUser(2, "Anna", "anna@ya.ru");
+        User maria = makeUser(3, "Maria", "maria@ya.ru");
+        Item screwdriver = makeItem(1, "Отвертка", "Крестовая отвертка", true, anna, null, null);
+        Item drill = makeItem(2, "Дрель", "На аккумуляторе", true, maria, null, null);
+        Item own = makeItem(3, "Отвертка", "Своя", true, requester, null, null);
+        index = Map.of(
+                "крестовая", List.of(screwdriver),
+                "отвертка", List.of(screwdriver, own),
+                "дрель", List.of(drill));
+    }
+
+    @Test
+    public void checkMatchScoresItemsByMatchedTokens() {
+        when(itemSearchEngine.search(anyString(), eq(0), eq(10)))
+                .thenAnswer(invocation -> index.getOrDefault(invocation.<String>getArgument(0), List.of()));
+
+        List<RequestMatch> matches = requestMatcher.match(5, "Нужна крестовая отвертка на дрель", 1);
+
+        assertThat(matches.stream().map(RequestMatch::getItemId).collect(Collectors.toList()), contains(1, 2));
+        assertThat(matches.stream().map(RequestMatch::getScore).collect(Collectors.toList()), contains(2, 1));
+        assertThat(matches.stream().map(RequestMatch::getOwnerId).collect(Collectors.toList()), contains(2, 3));
+        assertThat(matches, everyItem(hasProperty("requestId", is(5))));
+        verify(itemSearchEngine, never()).search(eq("на"), anyInt(), anyInt());
+        verify(requestMatchRepository).saveAll(matches);
+    }
+
+    @Test
+    public void checkMatchWithoutHitsSavesNothing() {
+        when(itemSearchEngine.search(anyString(), eq(0), eq(10))).thenReturn(List.of());
+
+        assertThat(requestMatcher.match(5, "Велосипед на выходные", 1), empty());
+        verify(requestMatchRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void checkMatchRequestRunsOnExecutor() {
+        when(itemSearchEngine.search(anyString(), eq(0), eq(10)))
+                .thenAnswer(invocation -> index.getOrDefault(invocation.<String>getArgument(0), List.of()));
+
+        requestMatcher.match(makeRequest(5, "Дрель", LocalDateTime.now(), requester, null));
+
+        verify(itemSearchEngine).search("дрель", 0, 10);
+        verify(requestMatchRepository).saveAll(anyList());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
 
 import java.util.List;
 
@@ -27,11 +28,20 @@ class RequestRepositoryTest {
 
     @Test
     public void checkFindAllAlien() {
-        List<ItemRequest> requests = requestRepository.findAllAlien(2, pr).getContent();
+        List<ItemRequest> requests = requestRepository.findAllAlien(2, pr);
 
         assertThat(requests, notNullValue());
         assertThat(requests.size(), equalTo(2));
         assertThat(requests.get(0).getDescription(), is(in(List.of("Нужна крестовая отвертка", "Велосипед на выходные"))));
         assertThat(requests.get(1).getDescription(), is(in(List.of("Нужна крестовая отвертка", "Велосипед на выходные"))));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkFindRecent() {
+        List<ItemRequestSummary> requests = requestRepository.findRecent(PageRequest.of(0, 1));
+
+        assertThat(requests.size(), equalTo(1));
+        assertThat(requests.get(0).getId(), equalTo(2));
+        assertThat(requests.get(0).getRequesterId(), equalTo(1));
+    }
+}
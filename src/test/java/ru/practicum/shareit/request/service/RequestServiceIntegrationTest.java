@@ -4,12 +4,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.custom.PageCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -38,4 +40,14 @@ public class RequestServiceIntegrationTest {
         assertThat(requests.get(0).getDescription(), is(in(List.of("Нужна крестовая отвертка", "Велосипед на выходные"))));
         assertThat(requests.get(1).getDescription(), is(in(List.of("Нужна крестовая отвертка", "Велосипед на выходные"))));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkGetAllAlienAfterCursor() {
+        List<ItemRequest> requests = requestService.getAllAlien(2,
+                new PageCursor(LocalDateTime.of(2022, 9, 13, 12, 42, 17), 2), 5);
+
+        assertThat(requests, notNullValue());
+        assertThat(requests.size(), equalTo(1));
+        assertThat(requests.get(0).getId(), equalTo(1));
+    }
+}
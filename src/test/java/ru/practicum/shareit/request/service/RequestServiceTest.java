@@ -6,11 +6,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.feed.RequestFeed;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.RequestMatch;
+import ru.practicum.shareit.request.repository.RequestMatchRepository;
 import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,7 +32,15 @@ class RequestServiceTest {
     @Mock
     private RequestRepository requestRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserCache userCache;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private RequestFeed requestFeed;
+    @Mock
+    private RequestMatcher requestMatcher;
+    @Mock
+    private RequestMatchRepository requestMatchRepository;
 
     private User requester;
     private ItemRequest requestWithoutId;
@@ -35,7 +49,8 @@ class RequestServiceTest {
 
     @BeforeEach
     void setUp() {
-        requestService = new RequestServiceImpl(requestRepository, userRepository);
+        requestService = new RequestServiceImpl(requestRepository, userCache, itemRepository, requestFeed,
+                requestMatcher, requestMatchRepository);
         requester = makeUser(1, "Olya", "olya@ya.ru");
         requestWithoutId = makeItemRequest(null, "description",
                 LocalDateTime.of(2022, 10, 10, 10, 10, 10), requester, null);
@@ -46,7 +61,7 @@ class RequestServiceTest {
 
     @Test
     public void testSaveRequestSuccess() {
-        when(userRepository.findById(requester.getId())).thenReturn(Optional.of(requester));
+        when(userCache.findById(requester.getId())).thenReturn(Optional.of(requester));
         when(requestRepository.save(any(ItemRequest.class))).thenReturn(request);
 
         ItemRequest savedRequest = requestService.saveRequest(requester.getId(),requestDesc);
@@ -56,7 +71,7 @@ class RequestServiceTest {
 
     @Test
     public void checkGetAllByRequester() {
-        when(userRepository.findById(requester.getId())).thenReturn(Optional.of(requester));
+        when(userCache.findById(requester.getId())).thenReturn(Optional.of(requester));
         when(requestRepository.findAllByRequesterOrderByCreatedDesc(any())).thenReturn(List.of(request));
 
         List<ItemRequest> requests = requestService.getAllByRequester(1);
@@ -69,24 +84,79 @@ class RequestServiceTest {
 
     @Test
     public void checkGetRequestById() {
-        when(requestRepository.findById(requester.getId())).thenReturn(Optional.of(request));
+        when(requestRepository.findWithRequesterById(requester.getId())).thenReturn(Optional.of(request));
 
         ItemRequest requestFromDb = requestService.getRequestById(requester.getId());
         assertEquals(request, requestFromDb);
 
-        verify(requestRepository).findById(requester.getId());
+        verify(requestRepository).findWithRequesterById(requester.getId());
         verifyNoMoreInteractions(requestRepository);
     }
 
     @Test
     public void checkGetRequestByIdRequestNotFoundException() {
-        when(requestRepository.findById(any())).thenReturn(Optional.empty());
+        when(requestRepository.findWithRequesterById(any())).thenReturn(Optional.empty());
 
         final var thrown = assertThrows(NotFoundException.class,
                 () -> requestService.getRequestById(1));
         assertEquals("Request not found 1", thrown.getMessage());
 
-        verify(requestRepository).findById(any());
+        verify(requestRepository).findWithRequesterById(any());
         verifyNoMoreInteractions(requestRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkGetAllAlienAttachesItemsOfPage() {
+        ItemRequest other = makeItemRequest(2, "other",
+                LocalDateTime.of(2022, 10, 11, 10, 10, 10), requester, null);
+        Item first = makeItem(1, "item1", "description1", true, requester, null, request);
+        Item second = makeItem(2, "item2", "description2", true, requester, null, request);
+        when(userCache.findById(3)).thenReturn(Optional.of(makeUser(3, "Ivan", "ivan@ya.ru")));
+        when(requestRepository.findAllAlien(eq(3), any())).thenReturn(List.of(other, request));
+        when(itemRepository.findAllWithCommentsByRequestIdIn(List.of(2, 1))).thenReturn(List.of(first, second));
+
+        List<ItemRequest> requests = requestService.getAllAlien(3, 0, 10);
+
+        assertEquals(List.of(other, request), requests);
+        assertEquals(List.of(), other.getItems());
+        assertEquals(List.of(first, second), request.getItems());
+        verify(itemRepository).findAllWithCommentsByRequestIdIn(List.of(2, 1));
+        verifyNoMoreInteractions(itemRepository);
+    }
+
+    @Test
+    public void checkGetAllAlienServedFromFeed() {
+        ItemRequest other = makeItemRequest(2, "other",
+                LocalDateTime.of(2022, 10, 11, 10, 10, 10), requester, null);
+        when(userCache.findById(3)).thenReturn(Optional.of(makeUser(3, "Ivan", "ivan@ya.ru")));
+        when(requestFeed.findAlien(3, 0, 10)).thenReturn(Optional.of(List.of(2, 1)));
+        when(requestRepository.findAllWithRequesterByIdIn(List.of(2, 1))).thenReturn(List.of(request, other));
+
+        List<ItemRequest> requests = requestService.getAllAlien(3, 0, 10);
+
+        assertEquals(List.of(other, request), requests);
+        verify(requestRepository).findAllWithRequesterByIdIn(List.of(2, 1));
+        verifyNoMoreInteractions(requestRepository);
+    }
+
+    @Test
+    public void checkSaveRequestAddedToFeed() {
+        when(userCache.findById(requester.getId())).thenReturn(Optional.of(requester));
+
+        ItemRequest savedRequest = requestService.saveRequest(requester.getId(), requestDesc);
+
+        verify(requestFeed).add(savedRequest);
+        verify(requestMatcher).match(savedRequest);
+    }
+
+    @Test
+    public void checkGetMatchesByOwner() {
+        RequestMatch match = RequestMatch.builder().id(1).requestId(2).itemId(3).ownerId(requester.getId())
+                .score(2).created(LocalDateTime.now()).build();
+        when(userCache.findById(requester.getId())).thenReturn(Optional.of(requester));
+        when(requestMatchRepository.findAllByOwnerIdOrderByCreatedDescIdDesc(eq(requester.getId()), any()))
+                .thenReturn(List.of(match));
+
+        assertEquals(List.of(match), requestService.getMatchesByOwner(requester.getId(), 0, 5));
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.user.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static datas.ObjectMaker.makeUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong time = new AtomicLong();
+    private UserCache userCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(userRepository, Duration.ofMinutes(1), 2, time::get);
+        user = makeUser(1, "Olya", "olya@ya.ru");
+    }
+
+    @Test
+    public void checkFindByIdCached() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        User first = userCache.findById(1).orElseThrow();
+        User second = userCache.findById(1).orElseThrow();
+
+        assertEquals(user, first);
+        assertEquals(user, second);
+        assertNotSame(first, second);
+        verify(userRepository).findById(1);
+    }
+
+    @Test
+    public void checkFindByIdExpired() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        userCache.findById(1);
+        time.addAndGet(Duration.ofMinutes(1).toNanos());
+        userCache.findById(1);
+
+        verify(userRepository, times(2)).findById(1);
+    }
+
+    @Test
+    public void checkAbsentUserNotCached() {
+        when(userRepository.findById(1)).thenReturn(Optional.empty()).thenReturn(Optional.of(user));
+
+        assertTrue(userCache.findById(1).isEmpty());
+        assertEquals(user, userCache.findById(1).orElseThrow());
+    }
+
+    @Test
+    public void checkInvalidate() {
+        User renamed = makeUser(1, "Olga", "olya@ya.ru");
+        when(userRepository.findById(1)).thenReturn(Optional.of(user)).thenReturn(Optional.of(renamed));
+
+        userCache.findById(1);
+        userCache.invalidate(1);
+
+        assertEquals("Olga", userCache.findById(1).orElseThrow().getName());
+    }
+
+    @Test
+    public void checkBoundedSize() {
+        when(userRepository.findById(anyInt()))
+                .thenAnswer(invocation -> Optional.of(makeUser(invocation.getArgument(0), "user", "user@ya.ru")));
+
+        userCache.findById(1);
+        userCache.findById(2);
+        userCache.findById(3);
+        userCache.findById(1);
+        userCache.findById(2);
+        userCache.findById(3);
+
+        verify(userRepository, atLeast(4)).findById(anyInt());
+    }
+
+    @Test
+    public void checkLeastRecentlyUsedEvicted() {
+        when(userRepository.findById(anyInt()))
+                .thenAnswer(invocation -> Optional.of(makeUser(invocation.getArgument(0), "user", "user@ya.ru")));
+        userCache.findById(1);
+        userCache.findById(2);
+        userCache.findById(1);
+
+        userCache.findById(3);
+        userCache.findById(1);
+        userCache.findById(2);
+
+        verify(userRepository, times(1)).findById(1);
+        verify(userRepository, times(2)).findById(2);
+    }
+}
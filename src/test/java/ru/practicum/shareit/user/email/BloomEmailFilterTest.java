@@ -0,0 +1,59 @@
+package ru.practicum.shareit.user.email;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BloomEmailFilterTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    public void checkWarmUpAddsAllPages() {
+        BloomEmailFilter emailFilter = new BloomEmailFilter(userRepository, 1000, 0.01);
+        Pageable first = PageRequest.of(0, 1000);
+        when(userRepository.findAllEmails(any())).thenReturn(
+                new SliceImpl<>(List.of("petr@ya.ru", "anna@ya.ru"), first, true),
+                new SliceImpl<>(List.of("maria@ya.ru"), first.next(), false));
+
+        emailFilter.warmUp();
+
+        assertTrue(emailFilter.mightContain("petr@ya.ru"));
+        assertTrue(emailFilter.mightContain("anna@ya.ru"));
+        assertTrue(emailFilter.mightContain("maria@ya.ru"));
+        verify(userRepository, times(2)).findAllEmails(any());
+    }
+
+    @Test
+    public void checkNoFalseNegatives() {
+        BloomEmailFilter emailFilter = new BloomEmailFilter(userRepository, 10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> emailFilter.add("user" + i + "@ya.ru"));
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> emailFilter.mightContain("user" + i + "@ya.ru")));
+    }
+
+    @Test
+    public void checkFalsePositiveRate() {
+        BloomEmailFilter emailFilter = new BloomEmailFilter(userRepository, 10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> emailFilter.add("user" + i + "@ya.ru"));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> emailFilter.mightContain("other" + i + "@mail.ru"))
+                .count();
+
+        assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+        assertFalse(emailFilter.mightContain(null));
+    }
+}
@@ -6,13 +6,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.view.OwnerBookingProjector;
 import ru.practicum.shareit.exception.DuplicateException;
 import ru.practicum.shareit.exception.EmailNotUniqueException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.cache.UserCache;
+import ru.practicum.shareit.user.email.EmailFilter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,27 +27,33 @@ public class UserServiceTest {
     private UserService userService;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserCache userCache;
+    @Mock
+    private EmailFilter emailFilter;
+    @Mock
+    private OwnerBookingProjector ownerBookingProjector;
 
     private User user;
     private User userWithoutId;
 
     @BeforeEach
     public void beforeEach() {
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, userCache, emailFilter, ownerBookingProjector);
         user = makeUser(1, "Василий", "vasya@ya.ru");
         userWithoutId = makeUser(null, "Василий", "vasya@ya.ru");
     }
 
     @Test
     public void checkSaveUser() {
-        when(userRepository.save(userWithoutId)).thenReturn(user);
+        when(userRepository.saveAndFlush(userWithoutId)).thenReturn(user);
 
         User userFromDb = userService.create(userWithoutId);
         assertNotNull(userFromDb);
         assertEquals(user, userFromDb);
 
-        verify(userRepository).save(userWithoutId);
-        verify(userRepository, times(1)).save(userWithoutId);
+        verify(userRepository).saveAndFlush(userWithoutId);
+        verify(userRepository, times(1)).saveAndFlush(userWithoutId);
     }
 
     @Test
@@ -67,6 +75,8 @@ public class UserServiceTest {
 
         User userAfterTest = userService.update(userAfterUpdate, 1);
         assertEquals(userAfterUpdate, userAfterTest);
+        verify(userCache).invalidate(1);
+        verify(ownerBookingProjector).userChanged(user);
     }
 
     @Test
@@ -74,23 +84,24 @@ public class UserServiceTest {
         userService.delete(1);
 
         verify(userRepository).deleteById(1);
+        verify(userCache).invalidate(1);
         verifyNoMoreInteractions(userRepository);
     }
 
     @Test
     public void checkGetUserNotFound() {
-        when(userRepository.findById(any())).thenReturn(Optional.empty());
+        when(userCache.findById(any())).thenReturn(Optional.empty());
 
         final var thrown = assertThrows(NotFoundException.class, () -> userService.findById(1));
         assertEquals("Нет пользователя с id = " + 1, thrown.getMessage());
 
-        verify(userRepository).findById(1);
-        verifyNoMoreInteractions(userRepository);
+        verify(userCache).findById(1);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     public void checkGetUserFound() {
-        when(userRepository.findById(any())).thenReturn(Optional.of(user));
+        when(userCache.findById(any())).thenReturn(Optional.of(user));
 
         User foundUser = userService.findById(user.getId());
         assertEquals(user, foundUser);
@@ -115,17 +126,38 @@ public class UserServiceTest {
         User user = new User();
         user.setEmail("existing@example.com");
 
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(user));
+        when(emailFilter.mightContain("existing@example.com")).thenReturn(true);
+        when(userRepository.existsByEmail("existing@example.com")).thenReturn(true);
 
         assertThrows(DuplicateException.class, () -> userService.validationEmail(user));
     }
 
+    @Test
+    public void testValidationEmailSkipsDatabaseWhenFilterMisses() {
+        User user = new User();
+        user.setEmail("new@example.com");
+
+        userService.validationEmail(user);
+
+        verify(emailFilter).mightContain("new@example.com");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void testUpdateUserDuplicateEmailOnFlush() {
+        User userAfterUpdate = makeUser(1, "Василий", "taken@ya.ru");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        doThrow(DataIntegrityViolationException.class).when(userRepository).flush();
+
+        assertThrows(EmailNotUniqueException.class, () -> userService.update(userAfterUpdate, 1));
+    }
+
     @Test
     public void testCreateUserUniqueEmail() {
         User user = new User();
         user.setEmail("existing@example.com");
 
-        when(userRepository.save(user)).thenThrow(DataIntegrityViolationException.class);
+        when(userRepository.saveAndFlush(user)).thenThrow(DataIntegrityViolationException.class);
 
         assertThrows(EmailNotUniqueException.class, () -> userService.create(user));
     }
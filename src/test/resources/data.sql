@@ -1,39 +1,43 @@
+DELETE FROM owner_booking_view;
+DELETE FROM booking_outbox;
+DELETE FROM request_matches;
 DELETE FROM bookings;
 DELETE FROM comments;
 DELETE FROM items;
 DELETE FROM requests;
 DELETE FROM users;
 
-ALTER TABLE bookings ALTER COLUMN id RESTART WITH 1;
-ALTER TABLE comments ALTER COLUMN id RESTART WITH 1;
-ALTER TABLE items    ALTER COLUMN id RESTART WITH 1;
-ALTER TABLE requests ALTER COLUMN id RESTART WITH 1;
-ALTER TABLE users    ALTER COLUMN id RESTART WITH 1;
+INSERT INTO users (id, name, email)
+    VALUES (1, 'Petr', 'petr@ya.ru'),
+           (2, 'Anna', 'anna@ya.ru'),
+           (3, 'Maria', 'maria@ya.ru');
 
-INSERT INTO users (name, email)
-    VALUES ('Petr', 'petr@ya.ru'),
-           ('Anna', 'anna@ya.ru'),
-           ('Maria', 'maria@ya.ru');
+INSERT INTO requests (id, description, created, requester_id)
+    VALUES (1, 'Нужна крестовая отвертка', '2022-09-10T07:52:17', 3),
+           (2, 'Велосипед на выходные', '2022-09-13T12:42:17', 1);
 
-INSERT INTO requests (description, created, requester_id)
-    VALUES ('Нужна крестовая отвертка', '2022-09-10T07:52:17', 3),
-           ('Велосипед на выходные', '2022-09-13T12:42:17', 1);
+INSERT INTO items (id, name, description, available, owner_id, request_id)
+    VALUES (1, 'Отвертка-мультитул', 'У отвертки разные виды насадок', true, 2, 1),
+           (2, 'Велосипед', 'Скоростной велик в хорошем состоянии', false, 3, null),
+           (3, 'Велик', 'Старый велосипед, требуется замена цепи', true, 2, null),
+           (4, 'Дрель', 'На аккумуляторе', true, 3, null),
+           (5, 'Чайник электрический', 'На 1.5 литров', true, 3, null),
+           (6, 'Мультиварка', 'В хорошем состоянии', true, 3, null),
+           (7, 'Фотоаппарат', 'Пленочный', true, 3, null),
+           (8, 'Фото- и видеокамера', 'Nikon', true, 1, null);
 
-INSERT INTO items (name, description, available, owner_id, request_id)
-    VALUES ('Отвертка-мультитул', 'У отвертки разные виды насадок', true, 2, 1),
-           ('Велосипед', 'Скоростной велик в хорошем состоянии', false, 3, null),
-           ('Велик', 'Старый велосипед, требуется замена цепи', true, 2, null),
-           ('Дрель', 'На аккумуляторе', true, 3, null),
-           ('Чайник электрический', 'На 1.5 литров', true, 3, null),
-           ('Мультиварка', 'В хорошем состоянии', true, 3, null),
-           ('Фотоаппарат', 'Пленочный', true, 3, null),
-           ('Фото- и видеокамера', 'Nikon', true, 1, null);
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, owner_id, status)
+    VALUES (1, TIMESTAMPADD(DAY, -7, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, 7, CURRENT_TIMESTAMP), 2, 2, 3, 'APPROVED'),
+           (2, TIMESTAMPADD(DAY, 7, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, 8, CURRENT_TIMESTAMP), 3, 1, 2, 'APPROVED'),
+           (3, '2022-09-15T07:52:17', '2022-09-15T12:52:17', 1, 3, 2, 'WAITING'),
+           (4, TIMESTAMPADD(DAY, -8, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, -7, CURRENT_TIMESTAMP), 4, 1, 3, 'REJECTED'),
+           (5, TIMESTAMPADD(DAY, -8, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, -7, CURRENT_TIMESTAMP), 5, 1, 3, 'CANCELED'),
+           (6, TIMESTAMPADD(DAY, 7, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, 8, CURRENT_TIMESTAMP), 6, 1, 3, 'APPROVED'),
+           (7, TIMESTAMPADD(DAY, -7, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, 7, CURRENT_TIMESTAMP), 6, 1, 3, 'APPROVED');
 
-INSERT INTO bookings (start_date, end_date, item_id, booker_id, status)
-    VALUES (TIMESTAMPADD(DAY, -7, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, 7, CURRENT_TIMESTAMP), 2, 2, 'APPROVED'),
-           (TIMESTAMPADD(DAY, 7, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, 8, CURRENT_TIMESTAMP), 3, 1, 'APPROVED'),
-           ('2022-09-15T07:52:17', '2022-09-15T12:52:17', 1, 3, 'WAITING'),
-           (TIMESTAMPADD(DAY, -8, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, -7, CURRENT_TIMESTAMP), 4, 1, 'REJECTED'),
-           (TIMESTAMPADD(DAY, -8, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, -7, CURRENT_TIMESTAMP), 5, 1, 'CANCELED'),
-           (TIMESTAMPADD(DAY, 7, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, 8, CURRENT_TIMESTAMP), 6, 1, 'APPROVED'),
-           (TIMESTAMPADD(DAY, -7, CURRENT_TIMESTAMP), TIMESTAMPADD(DAY, 7, CURRENT_TIMESTAMP), 6, 1, 'APPROVED');
\ No newline at end of file
+INSERT INTO owner_booking_view (booking_id, owner_id, start_date, end_date, status,
+                                item_id, item_name, item_description, item_available,
+                                booker_id, booker_name, booker_email)
+    SELECT b.id, b.owner_id, b.start_date, b.end_date, b.status,
+           i.id, i.name, i.description, i.available, u.id, u.name, u.email
+    FROM bookings AS b JOIN items AS i ON i.id = b.item_id JOIN users AS u ON u.id = b.booker_id;
\ No newline at end of file
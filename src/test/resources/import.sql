@@ -0,0 +1,8 @@
+-- Run by Hibernate after it creates the schema: keep generated ids clear of the fixed ids in data.sql.
+ALTER SEQUENCE users_seq RESTART WITH 1000;
+ALTER SEQUENCE requests_seq RESTART WITH 1000;
+ALTER SEQUENCE items_seq RESTART WITH 1000;
+ALTER SEQUENCE bookings_seq RESTART WITH 1000;
+ALTER SEQUENCE comments_seq RESTART WITH 1000;
+ALTER SEQUENCE request_matches_seq RESTART WITH 1000;
+ALTER SEQUENCE booking_outbox_seq RESTART WITH 1000;
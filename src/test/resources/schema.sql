@@ -1,5 +1,13 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS request_matches_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS booking_outbox_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
-    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR users_seq NOT NULL,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(255) NOT NULL,
     PRIMARY KEY (id),
@@ -7,7 +15,7 @@ CREATE TABLE IF NOT EXISTS users (
 );
 
 CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR requests_seq NOT NULL,
     description TEXT,
     created TIMESTAMP NOT NULL,
     requester_id BIGINT NOT NULL,
@@ -16,7 +24,7 @@ CREATE TABLE IF NOT EXISTS requests (
 );
 
 CREATE TABLE IF NOT EXISTS items (
-    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR items_seq NOT NULL,
     name VARCHAR(255) NOT NULL,
     description TEXT,
     available BOOLEAN NOT NULL,
@@ -28,19 +36,22 @@ CREATE TABLE IF NOT EXISTS items (
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR bookings_seq NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id BIGINT NOT NULL,
     booker_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
     status VARCHAR(255) NOT NULL,
+    version INTEGER DEFAULT 0 NOT NULL,
     PRIMARY KEY (id),
     FOREIGN KEY (item_id) REFERENCES  items(id),
-    FOREIGN KEY (booker_id) REFERENCES  users(id)
+    FOREIGN KEY (booker_id) REFERENCES  users(id),
+    FOREIGN KEY (owner_id) REFERENCES  users(id)
 );
 
 CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    id BIGINT DEFAULT NEXT VALUE FOR comments_seq NOT NULL,
     text TEXT NOT NULL,
     item_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
@@ -48,4 +59,50 @@ CREATE TABLE IF NOT EXISTS comments (
     PRIMARY KEY (id),
     FOREIGN KEY (item_id) REFERENCES  items(id),
     FOREIGN KEY (author_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS request_matches (
+    id BIGINT DEFAULT NEXT VALUE FOR request_matches_seq NOT NULL,
+    request_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    score INTEGER NOT NULL,
+    created TIMESTAMP NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT request_matches_request_item_key UNIQUE (request_id, item_id),
+    FOREIGN KEY (request_id) REFERENCES requests(id),
+    FOREIGN KEY (item_id) REFERENCES items(id),
+    FOREIGN KEY (owner_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS booking_outbox (
+    id BIGINT DEFAULT NEXT VALUE FOR booking_outbox_seq NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    booking_version INTEGER NOT NULL,
+    item_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    previous_status VARCHAR(255),
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS owner_booking_view (
+    booking_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    item_id BIGINT NOT NULL,
+    item_name VARCHAR(255) NOT NULL,
+    item_description TEXT,
+    item_available BOOLEAN NOT NULL,
+    booker_id BIGINT NOT NULL,
+    booker_name VARCHAR(255) NOT NULL,
+    booker_email VARCHAR(255) NOT NULL,
+    PRIMARY KEY (booking_id)
 );
\ No newline at end of file